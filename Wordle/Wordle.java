@@ -5,7 +5,21 @@
  *
  * @author Alexander Leon
  */
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /** Contains methods for a wordle clone */
 public class Wordle {
@@ -24,12 +38,40 @@ public class Wordle {
 
     /**
      * Picks a random word from the dictionary.
+     * Uses the calling thread's own generator, so threads creating games
+     * at the same time don't contend on a shared seed.
      * @param dictionary An array of words.
      * @return Randomly chosen word from dictionary.
      */
     public static String getRandomWord(String[] dictionary) {
-        int randomIndex = (int) (Math.random() * dictionary.length);
-        return dictionary[randomIndex];
+        return getRandomWord(dictionary, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Picks a random word from the dictionary using the given generator.
+     * Pass a seeded generator for repeatable games, or one generator per
+     * thread (a SplittableRandom split, say) for contention-free ones.
+     * @param dictionary An array of words.
+     * @param random Source of randomness.
+     * @return Randomly chosen word from dictionary.
+     */
+    public static String getRandomWord(String[] dictionary, RandomGenerator random) {
+        return dictionary[random.nextInt(dictionary.length)];
+    }
+
+    /**
+     * Picks the word of the day. Everyone using the same seed gets the
+     * same word on the same date, on any machine.
+     * @param dictionary An array of words.
+     * @param date The day.
+     * @param seed Seed that makes this word sequence differ from others.
+     * @return The word for that day.
+     */
+    public static String getWordOfTheDay(String[] dictionary, LocalDate date, long seed) {
+        // SplittableRandom's algorithm is fixed by its spec, so this is stable
+        long daySeed = seed + date.toEpochDay() * 0x9E3779B97F4A7C15L;
+        SplittableRandom random = new SplittableRandom(daySeed);
+        return getRandomWord(dictionary, random);
     }
 
     /**
@@ -47,6 +89,27 @@ public class Wordle {
         return false;
     }
 
+    /**
+     * Is the guess a recognized word? Same as the array version, but uses a
+     * prebuilt index so the lookup does not scan the dictionary.
+     * @param index Index of known words.
+     * @param guess The guess word.
+     * @return True if guess is in the index, false if not.
+     */
+    public static boolean isValidWord(WordleIndex index, String guess) {
+        return index.contains(guess);
+    }
+
+    /**
+     * Is the packed guess a recognized word?
+     * @param index Index of known words.
+     * @param guess The guess word, packed by WordlePacked.
+     * @return True if guess is in the index, false if not.
+     */
+    public static boolean isValidWord(WordleIndex index, int guess) {
+        return index.indexOf(guess) >= 0;
+    }
+
     /**
      * How close is the guess to the secret word?
      * @param word The secret word
@@ -108,6 +171,18 @@ public class Wordle {
 //        }
     }
 
+    /**
+     * How close is the guess to the secret word, as a single number?
+     * Works like getGuessResult but does not allocate; see WordlePattern
+     * for how the code is laid out and how to turn it back into chars.
+     * @param word The secret word
+     * @param guess Guessed word
+     * @return Base-3 pattern code, 0 to 242 for five letter words
+     */
+    public static int getGuessPattern(String word, String guess) {
+        return WordlePattern.of(word, guess);
+    }
+
     /**
      * Is this a winning result?
      * @param guessResult Array as returned by getGuessResult
@@ -123,42 +198,235 @@ public class Wordle {
     }
 
     /**
-     * Plays a console based Wordle game
-     * @param args Ignored
+     * Is this a winning pattern code?
+     * @param pattern Code as returned by getGuessPattern
+     * @param length Number of letters in the guess
+     * @return True if all places are CORRECT, false if not
+     */
+    public static boolean isWinningPattern(int pattern, int length) {
+        return WordlePattern.isWinning(pattern, length);
+    }
+
+    /**
+     * Replays scripted games without any prompting.
+     *
+     * Each input line is one game: the secret, then the guesses in order,
+     * separated by spaces. Blank lines and lines starting with '#' are
+     * skipped. Each game writes one output line: the secret, each guess
+     * followed by its feedback (or INVALID for a word that is not in the
+     * index, which doesn't use up a guess), then WON and the number of
+     * guesses or LOST. Guesses after the game ends are ignored. A line
+     * whose secret is not in the index gives an ERROR line.
+     *
+     * Words are looked up by their packed code straight from the line,
+     * and feedback is written from one reused array, so a game allocates
+     * little beyond the String its line is read into. Each stage of a
+     * guess is timed by WordleMetrics when metrics are on.
+     * @param in Games to play; wrapped in a BufferedReader if it isn't one.
+     * @param out Where results go; buffer it for speed. Flushed at the end.
+     * @param index Words accepted as secrets and guesses.
+     * @return Number of games played.
+     * @throws IOException If reading or writing fails.
+     */
+    public static long playBatch(Reader in, Writer out, WordleIndex index) throws IOException {
+        BufferedReader lines = in instanceof BufferedReader
+            ? (BufferedReader) in
+            : new BufferedReader(in, 1 << 16);
+        char[] feedback = new char[WordlePacked.MAX_LONG_LENGTH];
+        long games = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            line = line.toLowerCase();
+            int end = line.length();
+            int start = skipSpaces(line, 0);
+            if (start == end || line.charAt(start) == '#') {
+                continue;
+            }
+            int stop = nextSpace(line, start);
+            long secret = WordlePacked.encodeLong(line, start, stop);
+            if (index.indexOf(secret) < 0) {
+                out.write("ERROR unknown secret ");
+                out.write(line, start, stop - start);
+                out.write('\n');
+                continue;
+            }
+            int length = stop - start;
+            int win = WordlePattern.winning(length);
+            out.write(line, start, length);
+
+            int played = 0;
+            boolean won = false;
+            start = skipSpaces(line, stop);
+            while (start < end && played < NUMBER_OF_GUESSES && !won) {
+                long time = WordleMetrics.start();
+                stop = nextSpace(line, start);
+                long guess = WordlePacked.encodeLong(line, start, stop);
+                WordleMetrics.record(WordleMetrics.Stage.PARSE, time);
+
+                time = WordleMetrics.start();
+                boolean valid = stop - start == length && index.indexOf(guess) >= 0;
+                WordleMetrics.record(WordleMetrics.Stage.VALIDATE, time);
+
+                int pattern = 0;
+                if (valid) {
+                    time = WordleMetrics.start();
+                    pattern = WordlePattern.of(secret, guess);
+                    WordlePattern.toChars(pattern, feedback);
+                    WordleMetrics.record(WordleMetrics.Stage.SCORE, time);
+                }
+
+                time = WordleMetrics.start();
+                out.write(' ');
+                out.write(line, start, stop - start);
+                if (valid) {
+                    out.write(' ');
+                    out.write(feedback, 0, length);
+                } else {
+                    out.write(" INVALID");
+                }
+                WordleMetrics.record(WordleMetrics.Stage.OUTPUT, time);
+
+                if (valid) {
+                    WordleMetrics.count(WordleMetrics.Counter.GUESSES);
+                    played++;
+                    won = pattern == win;
+                } else {
+                    WordleMetrics.count(WordleMetrics.Counter.INVALID_GUESSES);
+                }
+                start = skipSpaces(line, stop);
+            }
+            WordleMetrics.count(WordleMetrics.Counter.GAMES);
+            if (won) {
+                WordleMetrics.count(WordleMetrics.Counter.WINS);
+                out.write(" WON ");
+                out.write(Integer.toString(played));
+            } else {
+                out.write(" LOST");
+            }
+            out.write('\n');
+            games++;
+        }
+        out.flush();
+        return games;
+    }
+
+    /**
+     * Reads the player's next guess, timing all but the wait for input.
+     * Gives null at the end of the input.
      */
-    public static void main(String[] args) {
+    private static String readGuess(Scanner in) {
+        if (!in.hasNextLine()) {
+            return null;
+        }
+        String line = in.nextLine();
+        long time = WordleMetrics.start();
+        String guess = line.trim().toLowerCase();
+        WordleMetrics.record(WordleMetrics.Stage.PARSE, time);
+        return guess;
+    }
+
+    /** Position of the first non-space at or after start. */
+    private static int skipSpaces(String line, int start) {
+        while (start < line.length() && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /** Position of the first space at or after start, or the line length. */
+    private static int nextSpace(String line, int start) {
+        while (start < line.length() && !Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Plays a console based Wordle game, or replays scripted games with
+     * --batch (see playBatch).
+     * @param args Nothing for a console game, --hard for one in hard mode
+     *       (see WordleHardMode), or --batch and then an optional file of
+     *       games (standard input if absent)
+     * @throws IOException If a batch can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        // Only does anything with -Dwordle.metrics=true
+        WordleMetrics.startPeriodicDumps();
+        if (args.length > 0 && args[0].equals("--batch")) {
+            Writer out = new BufferedWriter(
+                new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), 1 << 16);
+            Reader in = args.length > 1
+                ? Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.US_ASCII)
+                : new InputStreamReader(System.in, StandardCharsets.US_ASCII);
+            try (Reader games = in) {
+                playBatch(games, out, WordleIndex.fiveLetterIndex());
+            }
+            return;
+        }
 
         System.out.println("Let's play Wordle!");
         System.out.println();
         // The big array of words is in a separate file
-        String[] words = WordleDictionary.FIVE_LETTER_WORDS;
+        String[] words = WordleWordList.fiveLetterWords();
+        WordleIndex index = WordleIndex.fiveLetterIndex();
 
         Scanner in = new Scanner(System.in);
 
         String secret = getRandomWord(words);
+        WordleMetrics.count(WordleMetrics.Counter.GAMES);
+        WordleHardMode hardMode = args.length > 0 && args[0].equals("--hard")
+            ? new WordleHardMode(secret.length())
+            : null;
         int guesses = NUMBER_OF_GUESSES;
 
-        boolean winning;
+        boolean winning = false;
 
         do {
             System.out.println("Guesses remaining: " + guesses);
             System.out.println("What is your guess?");
 
-            String guess = in.nextLine().trim().toLowerCase();
+            String guess = readGuess(in);
 
-            while(!isValidWord(words, guess)) {
-                System.out.println("Not a recognized word! Try again");
-                guess = in.nextLine().trim().toLowerCase();
+            long time = WordleMetrics.start();
+            boolean valid = guess != null && isValidWord(index, guess);
+            WordleMetrics.record(WordleMetrics.Stage.VALIDATE, time);
+            while(guess != null && (!valid || hardMode != null && !hardMode.allows(guess))) {
+                if (!valid) {
+                    WordleMetrics.count(WordleMetrics.Counter.INVALID_GUESSES);
+                    System.out.println("Not a recognized word! Try again");
+                } else {
+                    System.out.println(hardMode.violation(guess) + "! Try again");
+                }
+                guess = readGuess(in);
+                time = WordleMetrics.start();
+                valid = guess != null && isValidWord(index, guess);
+                WordleMetrics.record(WordleMetrics.Stage.VALIDATE, time);
+            }
+            if (guess == null) {
+                // The input ran out before the game did
+                break;
             }
 
+            time = WordleMetrics.start();
             char[] guessResult = getGuessResult(secret, guess);
+            WordleMetrics.record(WordleMetrics.Stage.SCORE, time);
+            WordleMetrics.count(WordleMetrics.Counter.GUESSES);
+
+            time = WordleMetrics.start();
             System.out.println(new String(guessResult));
+            WordleMetrics.record(WordleMetrics.Stage.OUTPUT, time);
+            if (hardMode != null) {
+                hardMode.add(guess, WordlePattern.fromChars(guessResult));
+            }
 
             winning = isWinningResult(guessResult);
             guesses--;
 
         } while(guesses > 0 && !winning);
 
+        if (winning) {
+            WordleMetrics.count(WordleMetrics.Counter.WINS);
+        }
         System.out.println("The word was " + secret);
     }
 }
@@ -0,0 +1,195 @@
+import java.util.Arrays;
+import java.util.Scanner;
+
+/**
+ * An adversarial (Absurdle-style) Wordle game: there is no fixed secret.
+ *
+ * After each guess the engine splits the words still possible by the
+ * feedback they would give and keeps the biggest group, so the player is
+ * told as little as possible. The split is one pass over the candidates
+ * with a counter per pattern code, remembering each candidate's pattern
+ * in a byte array; a second pass keeps the winning group in place. No
+ * per-pattern lists are ever built.
+ *
+ * An engine holds one game and is not meant to be shared between threads.
+ */
+public class WordleAdversary {
+
+    private final String[] dictionary;
+    private final int[] codes;
+    private final WordleIndex index;
+    private final int wordLength;
+
+    /** Dictionary positions of the words still possible, first count used. */
+    private final int[] candidates;
+    private int count;
+
+    /** Scratch space: pattern of each candidate and size of each group. */
+    private final byte[] patterns;
+    private final int[] counts;
+
+    private int guesses;
+    private boolean won;
+
+    /**
+     * Starts a game where any dictionary word may end up the secret.
+     * @param dictionary Words of the same length, at most five letters.
+     * @throws IllegalArgumentException If the dictionary is empty or its
+     *       words are too long or of different lengths.
+     */
+    public WordleAdversary(String[] dictionary) {
+        this(dictionary, WordlePacked.encodeAll(dictionary), new WordleIndex(dictionary));
+    }
+
+    private WordleAdversary(String[] dictionary, int[] codes, WordleIndex index) {
+        this.dictionary = dictionary;
+        this.codes = codes;
+        this.index = index;
+        if (dictionary.length == 0) {
+            throw new IllegalArgumentException("Empty dictionary");
+        }
+        this.wordLength = dictionary[0].length();
+        if (wordLength > 5) {
+            throw new IllegalArgumentException("Words longer than five letters");
+        }
+        for (String word : dictionary) {
+            if (word.length() != wordLength) {
+                throw new IllegalArgumentException("Words of different lengths: " + word);
+            }
+        }
+        this.candidates = new int[dictionary.length];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = i;
+        }
+        this.count = candidates.length;
+        this.patterns = new byte[dictionary.length];
+        this.counts = new int[WordlePattern.winning(wordLength) + 1];
+    }
+
+    /**
+     * Starts a game over the shared five letter word list.
+     * @return A new game.
+     */
+    public static WordleAdversary fiveLetterGame() {
+        return new WordleAdversary(WordleWordList.fiveLetterWords(),
+                                   WordlePacked.fiveLetterCodes(),
+                                   WordleIndex.fiveLetterIndex());
+    }
+
+    /**
+     * Is the guess a word this game accepts?
+     * @param guess The guess word.
+     * @return True if guess is in the dictionary.
+     */
+    public boolean isValidWord(String guess) {
+        return Wordle.isValidWord(index, guess);
+    }
+
+    /**
+     * Plays a guess. The feedback is for the biggest group of remaining
+     * words; ties go to the lowest pattern code (the fewest hints first).
+     * Winning feedback is only given once a single word is left.
+     * @param guess A dictionary word.
+     * @return Feedback as a WordlePattern code.
+     * @throws IllegalStateException If the game has already been won.
+     */
+    public int guess(String guess) {
+        if (won) {
+            throw new IllegalStateException("The game is over");
+        }
+        int guessIndex = index.indexOf(guess);
+        if (guessIndex < 0) {
+            throw new IllegalArgumentException("Not a dictionary word: " + guess);
+        }
+        int guessCode = codes[guessIndex];
+        int win = counts.length - 1;
+
+        // Pass 1: pattern of every candidate and the size of each group
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < count; i++) {
+            int pattern = WordlePattern.of(codes[candidates[i]], guessCode);
+            patterns[i] = (byte) pattern;
+            counts[pattern]++;
+        }
+        int best = -1;
+        for (int pattern = 0; pattern < win; pattern++) {
+            if (best < 0 || counts[pattern] > counts[best]) {
+                best = pattern;
+            }
+        }
+        if (counts[best] == 0) {
+            best = win; // the guess is the only word left
+        }
+
+        // Pass 2: keep the chosen group, in place and in order
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if ((patterns[i] & 0xFF) == best) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        count = kept;
+        guesses++;
+        won = best == win;
+        return best;
+    }
+
+    /**
+     * How many words could still be the secret?
+     * @return Number of remaining words.
+     */
+    public int remaining() {
+        return count;
+    }
+
+    /**
+     * The words that could still be the secret.
+     * @return Remaining words, in dictionary order.
+     */
+    public String[] getCandidates() {
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            words[i] = dictionary[candidates[i]];
+        }
+        return words;
+    }
+
+    /**
+     * Get the number of guesses played
+     * @return Guesses so far
+     */
+    public int getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * Has the player pinned the secret down and guessed it?
+     * @return True once a guess got winning feedback
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Plays a console based adversarial game.
+     * @param args Ignored
+     */
+    public static void main(String[] args) {
+        System.out.println("Let's play Absurdle! The secret dodges your guesses.");
+        System.out.println();
+        WordleAdversary game = fiveLetterGame();
+        Scanner in = new Scanner(System.in);
+        while (!game.isWon()) {
+            System.out.println("Words still possible: " + game.remaining());
+            System.out.println("What is your guess?");
+            String guess = in.nextLine().trim().toLowerCase();
+            while (!game.isValidWord(guess)) {
+                System.out.println("Not a recognized word! Try again");
+                guess = in.nextLine().trim().toLowerCase();
+            }
+            int pattern = game.guess(guess);
+            System.out.println(new String(WordlePattern.toChars(pattern, guess.length())));
+        }
+        System.out.println("You got it in " + game.getGuesses() + " guesses!");
+    }
+}
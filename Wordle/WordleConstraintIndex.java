@@ -0,0 +1,201 @@
+/**
+ * Bitset index for narrowing down the possible secrets after each guess.
+ *
+ * A candidate set is a long[] with one bit per dictionary word. The index
+ * keeps one such bitset for every (position, letter) pair and for every
+ * (letter, count) pair, "words with at least count copies of letter".
+ * Feedback for one guess then turns into a few ANDs and AND-NOTs of whole
+ * longs, 64 words at a time, with no pattern computation at all:
+ *   - CORRECT at i: keep words with the letter at i
+ *   - otherwise: drop words with the letter at i
+ *   - letter seen k times as CORRECT or PRESENT: keep words with at least k
+ *   - letter also MISSING somewhere: drop words with at least k + 1
+ */
+public class WordleConstraintIndex {
+
+    private static final int LETTERS = 26;
+
+    private final int size;
+    private final int wordLength;
+    private final int longs;
+
+    /** atPosition[i * 26 + letter]: words with letter at position i. */
+    private final long[][] atPosition;
+
+    /** atLeast[letter * (wordLength + 1) + k]: words with at least k of letter. */
+    private final long[][] atLeast;
+
+    /**
+     * Builds the index.
+     * @param dictionary Words all of the same length, at most 12 letters.
+     */
+    public WordleConstraintIndex(String[] dictionary) {
+        size = dictionary.length;
+        wordLength = size == 0 ? 0 : dictionary[0].length();
+        longs = (size + 63) >>> 6;
+        atPosition = new long[wordLength * LETTERS][longs];
+        atLeast = new long[LETTERS * (wordLength + 1)][longs];
+
+        for (int w = 0; w < size; w++) {
+            String word = dictionary[w];
+            if (word.length() != wordLength || WordlePacked.encodeLong(word) == 0) {
+                throw new IllegalArgumentException("Not a dictionary word: " + word);
+            }
+            long bit = 1L << (w & 63);
+            int[] counts = new int[LETTERS];
+            for (int i = 0; i < wordLength; i++) {
+                int letter = word.charAt(i) - 'a';
+                atPosition[i * LETTERS + letter][w >>> 6] |= bit;
+                counts[letter]++;
+            }
+            for (int letter = 0; letter < LETTERS; letter++) {
+                for (int k = 0; k <= counts[letter]; k++) {
+                    atLeast[letter * (wordLength + 1) + k][w >>> 6] |= bit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Index over the shared five letter word list (see WordleWordList),
+     * built on first use.
+     * @return The shared five letter index.
+     */
+    public static WordleConstraintIndex fiveLetterIndex() {
+        return FiveLetterHolder.INDEX;
+    }
+
+    /**
+     * Candidate set holding every word.
+     * @return A new bitset with one bit set per dictionary word.
+     */
+    public long[] all() {
+        long[] candidates = new long[longs];
+        for (int i = 0; i < size >>> 6; i++) {
+            candidates[i] = -1L;
+        }
+        if ((size & 63) != 0) {
+            candidates[longs - 1] = (1L << (size & 63)) - 1;
+        }
+        return candidates;
+    }
+
+    /**
+     * Removes the words that don't fit one turn's feedback.
+     * @param candidates Candidate set, changed in place.
+     * @param guess The guessed word.
+     * @param pattern Feedback for the guess as a WordlePattern code.
+     */
+    public void apply(long[] candidates, String guess, int pattern) {
+        if (guess.length() != wordLength || WordlePacked.encodeLong(guess) == 0) {
+            throw new IllegalArgumentException("Not a " + wordLength + " letter word: " + guess);
+        }
+        for (int i = 0; i < wordLength; i++) {
+            long[] here = atPosition[i * LETTERS + guess.charAt(i) - 'a'];
+            if (WordlePattern.digit(pattern, i) == WordlePattern.CORRECT) {
+                and(candidates, here);
+            } else {
+                andNot(candidates, here);
+            }
+        }
+        for (int i = 0; i < wordLength; i++) {
+            char letter = guess.charAt(i);
+            if (guess.indexOf(letter) != i) {
+                continue; // this letter was handled at its first position
+            }
+            int found = 0;
+            boolean missing = false;
+            for (int j = i; j < wordLength; j++) {
+                if (guess.charAt(j) == letter) {
+                    if (WordlePattern.digit(pattern, j) == WordlePattern.MISSING) {
+                        missing = true;
+                    } else {
+                        found++;
+                    }
+                }
+            }
+            int row = (letter - 'a') * (wordLength + 1);
+            if (found > 0) {
+                and(candidates, atLeast[row + found]);
+            }
+            if (missing && found < wordLength) {
+                andNot(candidates, atLeast[row + found + 1]);
+            }
+        }
+    }
+
+    /**
+     * Removes the words that don't fit a turn.
+     * @param candidates Candidate set, changed in place.
+     * @param turn The turn to apply.
+     */
+    public void apply(long[] candidates, WordleTurn turn) {
+        apply(candidates, turn.getGuess(), turn.getPattern());
+    }
+
+    /**
+     * How many words are in a candidate set?
+     * @param candidates Candidate set.
+     * @return Number of words.
+     */
+    public static int count(long[] candidates) {
+        int count = 0;
+        for (long bits : candidates) {
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    /**
+     * Next word in a candidate set, for walking it in order.
+     * @param candidates Candidate set.
+     * @param from Dictionary position to start looking at.
+     * @return Dictionary position of the next word, or -1 if there are no more.
+     */
+    public static int next(long[] candidates, int from) {
+        int i = from >>> 6;
+        if (i >= candidates.length) {
+            return -1;
+        }
+        long bits = candidates[i] & (-1L << (from & 63));
+        while (bits == 0) {
+            if (++i == candidates.length) {
+                return -1;
+            }
+            bits = candidates[i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Lists the words in a candidate set.
+     * @param candidates Candidate set.
+     * @return Dictionary positions of the words, in order.
+     */
+    public static int[] toPositions(long[] candidates) {
+        int[] positions = new int[count(candidates)];
+        int n = 0;
+        for (int w = next(candidates, 0); w >= 0; w = next(candidates, w + 1)) {
+            positions[n++] = w;
+        }
+        return positions;
+    }
+
+    private static void and(long[] candidates, long[] mask) {
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] &= mask[i];
+        }
+    }
+
+    private static void andNot(long[] candidates, long[] mask) {
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] &= ~mask[i];
+        }
+    }
+
+    /** Lazily builds the five letter index the first time it is asked for. */
+    private static class FiveLetterHolder {
+        static final WordleConstraintIndex INDEX =
+            new WordleConstraintIndex(WordleWordList.fiveLetterWords());
+    }
+}
@@ -0,0 +1,336 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A directed acyclic word graph (DAWG): a trie whose identical subtrees
+ * are merged, so shared prefixes and shared endings are stored once.
+ *
+ * The graph is built with the incremental algorithm for sorted input
+ * (Daciuk et al. 2000) and then frozen into flat arrays: for node n,
+ * edges firstEdge[n] to firstEdge[n + 1] - 1 hold a letter and a target
+ * node, sorted by letter. Queries walk those arrays and track the path as
+ * a packed word (see WordlePacked), so the only thing they allocate is
+ * the String for each result.
+ */
+public class WordleDawg {
+
+    private final int[] firstEdge;
+    private final boolean[] isFinal;
+    private final byte[] edgeLetter;
+    private final int[] edgeTarget;
+    private final int wordCount;
+
+    /**
+     * Builds a DAWG from one or more word lists. Repeats are ignored.
+     * @param wordLists Arrays of lowercase words of 1 to 12 letters.
+     */
+    public WordleDawg(String[]... wordLists) {
+        List<String> all = new ArrayList<>();
+        for (String[] list : wordLists) {
+            for (String word : list) {
+                if (WordlePacked.encodeLong(word) == 0) {
+                    throw new IllegalArgumentException("Not a dictionary word: " + word);
+                }
+                all.add(word);
+            }
+        }
+        String[] sorted = all.toArray(new String[0]);
+        Arrays.sort(sorted);
+
+        Builder builder = new Builder();
+        int count = 0;
+        String previous = null;
+        for (String word : sorted) {
+            if (!word.equals(previous)) {
+                builder.add(word);
+                count++;
+                previous = word;
+            }
+        }
+        BuildNode root = builder.finish();
+        wordCount = count;
+
+        // Number the distinct nodes, then lay their edges out in order
+        Map<BuildNode, Integer> ids = new IdentityHashMap<>();
+        List<BuildNode> nodes = new ArrayList<>();
+        number(root, ids, nodes);
+        firstEdge = new int[nodes.size() + 1];
+        isFinal = new boolean[nodes.size()];
+        int edges = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            firstEdge[n] = edges;
+            isFinal[n] = nodes.get(n).isFinal;
+            edges += nodes.get(n).size;
+        }
+        firstEdge[nodes.size()] = edges;
+        edgeLetter = new byte[edges];
+        edgeTarget = new int[edges];
+        for (int n = 0; n < nodes.size(); n++) {
+            BuildNode node = nodes.get(n);
+            for (int e = 0; e < node.size; e++) {
+                edgeLetter[firstEdge[n] + e] = (byte) node.letters[e];
+                edgeTarget[firstEdge[n] + e] = ids.get(node.targets[e]);
+            }
+        }
+    }
+
+    /**
+     * DAWG of the word lists that ship with the game: the two letter
+     * words and the shared five letter list (see WordleWordList).
+     * @return The shared DAWG, built on first use.
+     */
+    public static WordleDawg standard() {
+        return StandardHolder.DAWG;
+    }
+
+    /**
+     * Is the word in the graph?
+     * @param word The word to look up.
+     * @return True if word was in the lists the graph was built from.
+     */
+    public boolean contains(String word) {
+        int node = walk(word);
+        return node >= 0 && isFinal[node];
+    }
+
+    /**
+     * Finds every word starting with a prefix, in alphabetical order.
+     * @param prefix The prefix; "" lists every word.
+     * @param results List the words are added to.
+     */
+    public void withPrefix(String prefix, List<String> results) {
+        int node = walk(prefix);
+        if (node >= 0) {
+            long path = WordlePacked.encodeLong(prefix);
+            collect(node, path, prefix.length(), results);
+        }
+    }
+
+    /**
+     * Finds every word matching a pattern, in alphabetical order.
+     * @param pattern One char per letter: a lowercase letter must match
+     *       exactly, '?' matches any letter.
+     * @param excluded Optional letter masks, one per position (see
+     *       letterMask); a '?' never matches a letter in its mask. May be null.
+     * @param results List the words are added to.
+     * @throws IllegalArgumentException If excluded is shorter than pattern.
+     */
+    public void matching(String pattern, int[] excluded, List<String> results) {
+        if (excluded != null && excluded.length < pattern.length()) {
+            throw new IllegalArgumentException("Need an excluded mask for each of the "
+                                               + pattern.length() + " positions");
+        }
+        if (pattern.length() > WordlePacked.MAX_LONG_LENGTH) {
+            return;
+        }
+        match(0, pattern, excluded, 0, 0L, results);
+    }
+
+    /**
+     * Mask with one bit per letter of a string, for use with matching.
+     * @param letters Lowercase letters.
+     * @return Bit (c - 'a') set for each letter c.
+     */
+    public static int letterMask(String letters) {
+        int mask = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            mask |= 1 << (letters.charAt(i) - 'a');
+        }
+        return mask;
+    }
+
+    /**
+     * How many words are in the graph?
+     * @return Number of distinct words.
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * How many nodes are left after merging?
+     * @return Number of nodes.
+     */
+    public int nodeCount() {
+        return isFinal.length;
+    }
+
+    /**
+     * How many edges are left after merging?
+     * @return Number of edges.
+     */
+    public int edgeCount() {
+        return edgeLetter.length;
+    }
+
+    /** Follows word from the root, returning the node reached or -1. */
+    private int walk(String word) {
+        int node = 0;
+        for (int i = 0; i < word.length() && node >= 0; i++) {
+            node = child(node, word.charAt(i));
+        }
+        return node;
+    }
+
+    /** Target of the edge for letter c out of node, or -1. */
+    private int child(int node, char c) {
+        for (int e = firstEdge[node]; e < firstEdge[node + 1]; e++) {
+            if (edgeLetter[e] == c) {
+                return edgeTarget[e];
+            }
+            if (edgeLetter[e] > c) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    /** Adds every word below node, where path holds the letters so far. */
+    private void collect(int node, long path, int depth, List<String> results) {
+        if (isFinal[node]) {
+            results.add(WordlePacked.decode(path));
+        }
+        for (int e = firstEdge[node]; e < firstEdge[node + 1]; e++) {
+            long next = path | (long) (edgeLetter[e] - 'a' + 1) << (WordlePacked.LETTER_BITS * depth);
+            collect(edgeTarget[e], next, depth + 1, results);
+        }
+    }
+
+    /** Adds the words below node that match the rest of the pattern. */
+    private void match(int node, String pattern, int[] excluded, int depth, long path,
+                       List<String> results) {
+        if (depth == pattern.length()) {
+            if (isFinal[node]) {
+                results.add(WordlePacked.decode(path));
+            }
+            return;
+        }
+        char wanted = pattern.charAt(depth);
+        int banned = excluded == null ? 0 : excluded[depth];
+        for (int e = firstEdge[node]; e < firstEdge[node + 1]; e++) {
+            int letter = edgeLetter[e] - 'a';
+            if (wanted == '?' ? (banned & (1 << letter)) == 0 : edgeLetter[e] == wanted) {
+                long next = path | (long) (letter + 1) << (WordlePacked.LETTER_BITS * depth);
+                match(edgeTarget[e], pattern, excluded, depth + 1, next, results);
+            }
+        }
+    }
+
+    /** Gives node and everything below it ids, the root getting 0. */
+    private static void number(BuildNode node, Map<BuildNode, Integer> ids, List<BuildNode> nodes) {
+        if (ids.containsKey(node)) {
+            return;
+        }
+        ids.put(node, nodes.size());
+        nodes.add(node);
+        for (int e = 0; e < node.size; e++) {
+            number(node.targets[e], ids, nodes);
+        }
+    }
+
+    /** Node of the graph while it is being built. */
+    private static class BuildNode {
+        boolean isFinal;
+        char[] letters = new char[2];
+        BuildNode[] targets = new BuildNode[2];
+        int size;
+
+        BuildNode last() {
+            return size == 0 ? null : targets[size - 1];
+        }
+
+        void addEdge(char letter, BuildNode target) {
+            if (size == letters.length) {
+                letters = Arrays.copyOf(letters, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+            }
+            letters[size] = letter;
+            targets[size] = target;
+            size++;
+        }
+
+        /** Nodes are equivalent if they agree on finality and on every edge. */
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BuildNode)) {
+                return false;
+            }
+            BuildNode other = (BuildNode) o;
+            if (isFinal != other.isFinal || size != other.size) {
+                return false;
+            }
+            for (int e = 0; e < size; e++) {
+                if (letters[e] != other.letters[e] || targets[e] != other.targets[e]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = isFinal ? 1 : 0;
+            for (int e = 0; e < size; e++) {
+                hash = 31 * hash + letters[e];
+                hash = 31 * hash + System.identityHashCode(targets[e]);
+            }
+            return hash;
+        }
+    }
+
+    /** Incremental construction from words added in sorted order. */
+    private static class Builder {
+        private final BuildNode root = new BuildNode();
+        private final Map<BuildNode, BuildNode> register = new HashMap<>();
+
+        void add(String word) {
+            BuildNode node = root;
+            int i = 0;
+            while (i < word.length() && node.size > 0
+                   && node.letters[node.size - 1] == word.charAt(i)) {
+                node = node.last();
+                i++;
+            }
+            if (node.size > 0) {
+                replaceOrRegister(node);
+            }
+            for (; i < word.length(); i++) {
+                BuildNode next = new BuildNode();
+                node.addEdge(word.charAt(i), next);
+                node = next;
+            }
+            node.isFinal = true;
+        }
+
+        BuildNode finish() {
+            if (root.size > 0) {
+                replaceOrRegister(root);
+            }
+            return root;
+        }
+
+        /** Merges the newest branch below node into already-registered nodes. */
+        private void replaceOrRegister(BuildNode node) {
+            BuildNode child = node.last();
+            if (child.size > 0) {
+                replaceOrRegister(child);
+            }
+            BuildNode same = register.get(child);
+            if (same != null) {
+                node.targets[node.size - 1] = same;
+            } else {
+                register.put(child, child);
+            }
+        }
+    }
+
+    /** Builds the standard DAWG the first time it is asked for. */
+    private static class StandardHolder {
+        static final WordleDawg DAWG = new WordleDawg(
+            WordleDictionary.TWO_LETTER_WORDS, WordleWordList.fiveLetterWords());
+    }
+}
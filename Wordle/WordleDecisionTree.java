@@ -0,0 +1,239 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A precomputed Wordle game plan: which word to guess for every feedback
+ * the game can give, so playing costs a few buffer reads per turn.
+ *
+ * The tree is built offline with a WordleSolver and written to a compact
+ * binary file. Reading maps the file and walks it in place; nodes are
+ * byte offsets into the buffer and are never turned into objects.
+ *
+ * File layout (big endian):
+ *   header: int magic, int word count, long dictionary checksum,
+ *           int offset of the root node
+ *   node:   unsigned short guess (dictionary position),
+ *           unsigned byte child count,
+ *           then per child: byte pattern, int node offset,
+ *           sorted by pattern
+ * Children are written before their parents, so every offset points
+ * backwards and the root comes last. The winning pattern has no child.
+ */
+public class WordleDecisionTree implements WordleStrategy {
+
+    /** File written by main when no name is given. */
+    public static final String DEFAULT_FILE = "wordle-tree.bin";
+
+    /** Marks a decision tree file ("WDTR"). */
+    private static final int MAGIC = 0x57445452;
+
+    private static final int HEADER_BYTES = 20;
+    private static final int CHILD_BYTES = 5;
+
+    /** Largest dictionary whose positions fit in the guess field. */
+    private static final int MAX_WORDS = 0xFFFF;
+
+    private final ByteBuffer tree;
+    private final String[] dictionary;
+    private final int root;
+
+    private WordleDecisionTree(ByteBuffer tree, String[] dictionary) {
+        this.tree = tree;
+        this.dictionary = dictionary;
+        this.root = tree.getInt(16);
+    }
+
+    /**
+     * Builds the tree for a solver's dictionary and writes it out.
+     * @param solver Solver that picks the guess at every node.
+     * @param out Where to write the tree.
+     * @throws IOException If writing fails.
+     */
+    public static void build(WordleSolver solver, OutputStream out) throws IOException {
+        String[] dictionary = solver.getDictionary();
+        if (dictionary.length > MAX_WORDS || dictionary[0].length() > 5) {
+            throw new IllegalArgumentException("Need at most " + MAX_WORDS + " words of up to 5 letters");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(MAGIC);
+        data.writeInt(dictionary.length);
+        data.writeLong(WordlePacked.checksum(WordlePacked.encodeAll(dictionary)));
+        data.writeInt(0); // root offset, filled in below
+
+        int[] all = new int[dictionary.length];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        int rootOffset = writeNode(solver, all, data);
+
+        byte[] file = bytes.toByteArray();
+        ByteBuffer.wrap(file).putInt(16, rootOffset);
+        out.write(file);
+    }
+
+    /** Writes the subtree for a candidate set, returning its offset. */
+    private static int writeNode(WordleSolver solver, int[] candidates, DataOutputStream data)
+            throws IOException {
+        int guess = solver.bestGuess(candidates);
+        int win = WordlePattern.winning(solver.getDictionary()[guess].length());
+
+        // Bucket the candidates by the feedback the guess would give
+        int[] counts = new int[win + 1];
+        int[] patterns = new int[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            patterns[i] = solver.pattern(guess, candidates[i]);
+            counts[patterns[i]]++;
+        }
+        int[] childOffsets = new int[counts.length];
+        int children = 0;
+        for (int pattern = 0; pattern < counts.length; pattern++) {
+            if (counts[pattern] == 0 || pattern == win) {
+                continue;
+            }
+            if (counts[pattern] == candidates.length) {
+                throw new IllegalStateException(solver.getDictionary()[guess]
+                                                + " does not split the candidates");
+            }
+            int[] bucket = new int[counts[pattern]];
+            int n = 0;
+            for (int i = 0; i < candidates.length; i++) {
+                if (patterns[i] == pattern) {
+                    bucket[n++] = candidates[i];
+                }
+            }
+            childOffsets[pattern] = writeNode(solver, bucket, data);
+            children++;
+        }
+
+        int offset = data.size();
+        data.writeShort(guess);
+        data.writeByte(children);
+        for (int pattern = 0; pattern < counts.length; pattern++) {
+            if (counts[pattern] > 0 && pattern != win) {
+                data.writeByte(pattern);
+                data.writeInt(childOffsets[pattern]);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Maps a saved tree.
+     * @param file File written by build.
+     * @param dictionary The dictionary the tree was built from.
+     * @return The tree, ready to walk.
+     * @throws IOException If the file can't be read or was built from a
+     *       different dictionary.
+     */
+    public static WordleDecisionTree open(Path file, String[] dictionary) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer tree = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_BYTES || tree.getInt(0) != MAGIC
+                    || tree.getInt(4) != dictionary.length
+                    || tree.getLong(8) != WordlePacked.checksum(WordlePacked.encodeAll(dictionary))) {
+                throw new IOException(file + " is not a decision tree for this dictionary");
+            }
+            return new WordleDecisionTree(tree, dictionary);
+        }
+    }
+
+    /**
+     * The node to start a game at.
+     * @return Offset of the root node.
+     */
+    public int root() {
+        return root;
+    }
+
+    /**
+     * The word to guess at a node.
+     * @param node Node offset.
+     * @return Dictionary position of the guess.
+     */
+    public int guess(int node) {
+        return tree.getShort(node) & 0xFFFF;
+    }
+
+    /**
+     * Where to go after the guess at a node gets some feedback.
+     * @param node Node offset.
+     * @param pattern The feedback, as a WordlePattern code.
+     * @return Offset of the next node, or -1 if no secret gives that
+     *       feedback (or it was the winning pattern).
+     */
+    public int child(int node, int pattern) {
+        int low = 0;
+        int high = (tree.get(node + 2) & 0xFF) - 1;
+        int first = node + 3;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = first + middle * CHILD_BYTES;
+            int found = tree.get(entry) & 0xFF;
+            if (found == pattern) {
+                return tree.getInt(entry + 1);
+            } else if (found < pattern) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Follows the tree through a game's turns to the next guess.
+     * @param history Turns played so far; the guesses must be the ones
+     *       the tree chose.
+     * @return The word to guess next.
+     * @throws IllegalStateException If the history leaves the tree.
+     */
+    @Override
+    public String nextGuess(List<WordleTurn> history) {
+        int node = root;
+        for (WordleTurn turn : history) {
+            if (!dictionary[guess(node)].equals(turn.getGuess())) {
+                throw new IllegalStateException("Tree would not have guessed " + turn.getGuess());
+            }
+            node = child(node, turn.getPattern());
+            if (node < 0) {
+                throw new IllegalStateException("No word fits the feedback so far");
+            }
+        }
+        return dictionary[guess(node)];
+    }
+
+    /**
+     * Builds the tree for the shared five letter word list.
+     * @param args Output file (DEFAULT_FILE if absent), then an optional
+     *       feedback matrix file to speed up the build
+     * @throws IOException If a file can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        String[] words = WordleWordList.fiveLetterWords();
+        WordleFeedbackMatrix matrix = args.length > 1
+            ? WordleFeedbackMatrix.loadOrCompute(Paths.get(args[1]), words)
+            : null;
+        long start = System.nanoTime();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            build(new WordleSolver(words, matrix), out);
+        }
+        System.out.println("Built " + file + " (" + Files.size(file) + " bytes) in "
+                           + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        WordleDecisionTree tree = open(file, words);
+        List<WordleTurn> history = new ArrayList<>();
+        System.out.println("Opening guess: " + tree.nextGuess(history));
+    }
+}
@@ -4,6 +4,9 @@
  *   http://nifty.stanford.edu/2022/eroberts-spelling-bee-wordle/)
  *
  * (Two letter words were grabbed from dictionary.com and put in an array.)
+ *
+ * The game itself gets its five letter words from WordleWordList, which
+ * can read a different list from a file and falls back to this one.
  */
 
 public class WordleDictionary {
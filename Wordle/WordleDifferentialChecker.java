@@ -0,0 +1,252 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Checks the feedback functions against a reference for every pair of
+ * words in a dictionary.
+ *
+ * The reference counts the secret's unmatched letters and hands PRESENT
+ * out from left to right, which is the rule stated plainly and shares no
+ * code with the functions under test. For each guess and secret it is
+ * compared with:
+ *   getGuessResult      Wordle.getGuessResult, char by char
+ *   getGuessPattern     Wordle.getGuessPattern on the strings
+ *   WordlePattern.of    the packed scalar path
+ *   WordlePattern.ofAll the batch path, one row per guess
+ *
+ * Guesses are split into blocks that run on a fixed pool of threads, each
+ * block keeping its own counts, so the checker scales with the cores and
+ * the totals don't depend on the thread count.
+ */
+public class WordleDifferentialChecker {
+
+    /** Names of the functions checked, in the order of getMismatches. */
+    public static final String[] CHECKED = {
+        "getGuessResult", "getGuessPattern", "WordlePattern.of", "WordlePattern.ofAll"
+    };
+
+    /** Guesses handed to a thread at a time. */
+    private static final int GUESSES_PER_BLOCK = 32;
+
+    /** Mismatches described in the report; the rest are only counted. */
+    private static final int MAX_EXAMPLES = 20;
+
+    private final long pairs;
+    private final long[] mismatches;
+    private final List<String> examples;
+    private final long elapsedNanos;
+
+    private WordleDifferentialChecker(long pairs, long[] mismatches, List<String> examples,
+                                      long elapsedNanos) {
+        this.pairs = pairs;
+        this.mismatches = mismatches;
+        this.examples = examples;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Checks every (guess, secret) pair of a dictionary.
+     * @param words Words of the same length, at most five letters.
+     * @param threads Number of worker threads.
+     * @return The outcome.
+     */
+    public static WordleDifferentialChecker check(String[] words, int threads) {
+        if (words.length == 0 || words[0].length() > 5) {
+            throw new IllegalArgumentException("Need words of 1 to 5 letters");
+        }
+        int[] codes = WordlePacked.encodeAll(words);
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Block>> blocks = new ArrayList<>();
+            for (int first = 0; first < words.length; first += GUESSES_PER_BLOCK) {
+                int from = first;
+                int to = Math.min(first + GUESSES_PER_BLOCK, words.length);
+                blocks.add(workers.submit(() -> checkBlock(words, codes, from, to)));
+            }
+
+            // Merge in block order so the examples come out the same every run
+            long[] mismatches = new long[CHECKED.length];
+            List<String> examples = new ArrayList<>();
+            for (Future<Block> future : blocks) {
+                Block block = future.get();
+                for (int v = 0; v < mismatches.length; v++) {
+                    mismatches[v] += block.mismatches[v];
+                }
+                for (String example : block.examples) {
+                    if (examples.size() < MAX_EXAMPLES) {
+                        examples.add(example);
+                    }
+                }
+            }
+            long pairs = (long) words.length * words.length;
+            return new WordleDifferentialChecker(pairs, mismatches, examples,
+                                                 System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Check failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /** Checks the guesses from (inclusive) to to (exclusive) against every secret. */
+    private static Block checkBlock(String[] words, int[] codes, int from, int to) {
+        Block block = new Block();
+        int length = words[0].length();
+        int[] left = new int[26];
+        byte[] row = new byte[words.length];
+        for (int g = from; g < to; g++) {
+            String guess = words[g];
+            WordlePattern.ofAll(codes[g], codes, row);
+            for (int s = 0; s < words.length; s++) {
+                String secret = words[s];
+                char[] expected = reference(secret, guess, left);
+                int pattern = WordlePattern.fromChars(expected);
+                block.compare(0, guess, secret, expected,
+                              Wordle.getGuessResult(secret, guess));
+                block.compare(1, guess, secret, pattern,
+                              Wordle.getGuessPattern(secret, guess), length);
+                block.compare(2, guess, secret, pattern,
+                              WordlePattern.of(codes[s], codes[g]), length);
+                block.compare(3, guess, secret, pattern, row[s] & 0xFF, length);
+            }
+        }
+        return block;
+    }
+
+    /**
+     * Reference feedback: letters in the right place are CORRECT, then
+     * each remaining guess letter, left to right, is PRESENT while the
+     * secret still has an unmatched copy of it.
+     * @param word The secret word
+     * @param guess Guessed word, same length
+     * @param left Scratch space for 26 letter counts
+     * @return Feedback as Wordle.getGuessResult gives it
+     */
+    static char[] reference(String word, String guess, int[] left) {
+        Arrays.fill(left, 0);
+        char[] result = new char[word.length()];
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) == guess.charAt(i)) {
+                result[i] = Wordle.CORRECT;
+            } else {
+                left[word.charAt(i) - 'a']++;
+            }
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (result[i] == Wordle.CORRECT) {
+                continue;
+            }
+            int letter = guess.charAt(i) - 'a';
+            if (left[letter] > 0) {
+                left[letter]--;
+                result[i] = Wordle.PRESENT;
+            } else {
+                result[i] = Wordle.MISSING;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of pairs checked
+     * @return Pairs, each checked against every function
+     */
+    public long getPairs() {
+        return pairs;
+    }
+
+    /**
+     * Get the number of pairs each function got wrong
+     * @return Mismatch counts, in the order of CHECKED
+     */
+    public long[] getMismatches() {
+        return mismatches.clone();
+    }
+
+    /**
+     * Did every function agree with the reference on every pair?
+     * @return True if no mismatch was found
+     */
+    public boolean isClean() {
+        return Arrays.stream(mismatches).allMatch(m -> m == 0);
+    }
+
+    /**
+     * Pairs checked per second of wall clock time.
+     * @return Throughput of the whole check
+     */
+    public double pairsPerSecond() {
+        return elapsedNanos == 0 ? 0 : pairs * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Multi-line summary of the check.
+     * @return The report.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("pairs checked: %d in %d ms (%.0f pairs/s)%n",
+                                    pairs, elapsedNanos / 1_000_000, pairsPerSecond()));
+        for (int v = 0; v < CHECKED.length; v++) {
+            report.append(String.format("  %-20s %d mismatches%n", CHECKED[v], mismatches[v]));
+        }
+        for (String example : examples) {
+            report.append("  ").append(example).append('\n');
+        }
+        return report.toString();
+    }
+
+    /** Counts and first few mismatches of one block of guesses. */
+    private static class Block {
+        final long[] mismatches = new long[CHECKED.length];
+        final List<String> examples = new ArrayList<>();
+
+        void compare(int checked, String guess, String secret, char[] expected, char[] actual) {
+            if (!Arrays.equals(expected, actual)) {
+                mismatch(checked, guess, secret, new String(expected), new String(actual));
+            }
+        }
+
+        void compare(int checked, String guess, String secret, int expected, int actual,
+                     int length) {
+            if (expected != actual) {
+                mismatch(checked, guess, secret,
+                         new String(WordlePattern.toChars(expected, length)),
+                         new String(WordlePattern.toChars(actual, length)));
+            }
+        }
+
+        private void mismatch(int checked, String guess, String secret, String expected,
+                              String actual) {
+            mismatches[checked]++;
+            if (examples.size() < MAX_EXAMPLES) {
+                examples.add(CHECKED[checked] + ": guess " + guess + " secret " + secret
+                             + " expected " + expected + " got " + actual);
+            }
+        }
+    }
+
+    /**
+     * Checks every pair of the shared five letter word list.
+     * @param args Optionally the number of worker threads (all cores if absent)
+     */
+    public static void main(String[] args) {
+        int threads = args.length > 0
+            ? Integer.parseInt(args[0])
+            : Runtime.getRuntime().availableProcessors();
+        WordleDifferentialChecker result = check(WordleWordList.fiveLetterWords(), threads);
+        System.out.print(result.report());
+        if (!result.isClean()) {
+            System.exit(1);
+        }
+    }
+}
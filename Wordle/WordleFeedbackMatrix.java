@@ -0,0 +1,192 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * Feedback for every (guess, secret) pair of a dictionary, one byte per
+ * pair holding the WordlePattern code.
+ *
+ * The matrix is computed in parallel, one guess row per task, and can be
+ * saved to a file. Loading maps the file read-only, so the table lives in
+ * the page cache rather than on the heap and is shared between processes.
+ *
+ * File layout (big endian): int magic, int word count, long dictionary
+ * checksum, then the rows, guess-major.
+ */
+public class WordleFeedbackMatrix {
+
+    /** File written by main when no name is given. */
+    public static final String DEFAULT_FILE = "wordle-feedback.bin";
+
+    /** Marks a feedback matrix file ("WFBM"). */
+    private static final int MAGIC = 0x5746424D;
+
+    private static final int HEADER_BYTES = 16;
+
+    /** Largest dictionary whose matrix still fits in one buffer. */
+    private static final int MAX_WORDS = 46340;
+
+    private final ByteBuffer cells;
+    private final int size;
+    private final long checksum;
+
+    private WordleFeedbackMatrix(ByteBuffer cells, int size, long checksum) {
+        this.cells = cells;
+        this.size = size;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Computes the matrix on the heap, spreading guess rows across cores.
+     * @param dictionary Array of words of the same length, at most five letters.
+     * @return The computed matrix.
+     */
+    public static WordleFeedbackMatrix compute(String[] dictionary) {
+        int[] codes = packedWords(dictionary);
+        int n = codes.length;
+        byte[] cells = new byte[n * n];
+        IntStream.range(0, n).parallel().forEach(guess ->
+            WordlePattern.ofAll(codes[guess], codes, cells, guess * n));
+        return new WordleFeedbackMatrix(ByteBuffer.wrap(cells), n, WordlePacked.checksum(codes));
+    }
+
+    /**
+     * Maps a saved matrix into memory.
+     * @param file File written by save.
+     * @param dictionary The dictionary the matrix must have been built from.
+     * @return The mapped matrix.
+     * @throws IOException If the file can't be read, or was built from a
+     *       different dictionary.
+     */
+    public static WordleFeedbackMatrix load(Path file, String[] dictionary) throws IOException {
+        long expected = WordlePacked.checksum(packedWords(dictionary));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long n = dictionary.length;
+            if (channel.size() != HEADER_BYTES + n * n) {
+                throw new IOException(file + " does not match the dictionary size");
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.BIG_ENDIAN);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != dictionary.length
+                    || mapped.getLong(8) != expected) {
+                throw new IOException(file + " was not built from this dictionary");
+            }
+            // The mapping stays valid after the channel is closed
+            ByteBuffer cells = mapped.slice(HEADER_BYTES, (int) (n * n));
+            return new WordleFeedbackMatrix(cells, dictionary.length, expected);
+        }
+    }
+
+    /**
+     * Loads a saved matrix, or computes and saves it if the file is
+     * missing or stale.
+     * @param file Cache file.
+     * @param dictionary Array of words of the same length, at most five letters.
+     * @return The matrix.
+     * @throws IOException If the matrix can't be saved.
+     */
+    public static WordleFeedbackMatrix loadOrCompute(Path file, String[] dictionary)
+            throws IOException {
+        if (Files.exists(file)) {
+            try {
+                return load(file, dictionary);
+            } catch (IOException e) {
+                // Stale or damaged cache, fall through and rebuild it
+            }
+        }
+        compute(dictionary).save(file);
+        return load(file, dictionary);
+    }
+
+    /**
+     * Writes the matrix to a file. The file is written next to its final
+     * name and moved into place, so readers never see half a matrix.
+     * @param file Where to save.
+     * @throws IOException If the file can't be written.
+     */
+    public void save(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), "wordle", ".tmp");
+        boolean moved = false;
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(size).putLong(checksum).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                ByteBuffer body = cells.duplicate();
+                body.clear();
+                while (body.hasRemaining()) {
+                    channel.write(body);
+                }
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            moved = true;
+        } finally {
+            if (!moved) {
+                // Don't leave half a matrix lying around
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Feedback for a guess against a secret, by dictionary position.
+     * @param guess Position of the guessed word.
+     * @param secret Position of the secret word.
+     * @return The WordlePattern code.
+     */
+    public int get(int guess, int secret) {
+        return cells.get(guess * size + secret) & 0xFF;
+    }
+
+    /**
+     * How many words the matrix covers.
+     * @return Number of rows (and columns).
+     */
+    public int size() {
+        return size;
+    }
+
+    /** Packs the dictionary, checking that its patterns fit in a byte. */
+    private static int[] packedWords(String[] dictionary) {
+        if (dictionary.length > MAX_WORDS) {
+            throw new IllegalArgumentException("Dictionary too large: " + dictionary.length);
+        }
+        for (String word : dictionary) {
+            if (word.length() > 5) {
+                throw new IllegalArgumentException("Longer than five letters: " + word);
+            }
+            if (word.length() != dictionary[0].length()) {
+                throw new IllegalArgumentException("Words of different lengths: " + word);
+            }
+        }
+        return WordlePacked.encodeAll(dictionary);
+    }
+
+    /**
+     * Builds the matrix for the shared five letter word list and saves it.
+     * @param args Optional output file, DEFAULT_FILE if absent.
+     * @throws IOException If the file can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        long start = System.nanoTime();
+        WordleFeedbackMatrix matrix = compute(WordleWordList.fiveLetterWords());
+        long computed = System.nanoTime();
+        matrix.save(file);
+        long saved = System.nanoTime();
+        System.out.println("Computed " + matrix.size() + " x " + matrix.size() + " patterns in "
+                           + (computed - start) / 1_000_000 + " ms");
+        System.out.println("Saved " + file + " in " + (saved - computed) / 1_000_000 + " ms");
+    }
+}
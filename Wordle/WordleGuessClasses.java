@@ -0,0 +1,119 @@
+/**
+ * Groups guesses that split a set of possible secrets the same way, so a
+ * solver only needs to score one guess per group.
+ *
+ * A guess letter that appears in none of the possible secrets is always
+ * MISSING and never uses up a secret letter, so it makes no difference
+ * which such letter it is. Blanking those letters out of the packed word
+ * gives a signature that is equal for guesses whose feedback agrees on
+ * every secret. Late in a game the secrets share only a few letters and
+ * thousands of guesses fall into a few hundred groups.
+ *
+ * The signature is found from the guess and a letter mask alone, without
+ * working out any feedback, so grouping costs one pass over the guesses.
+ */
+public class WordleGuessClasses {
+
+    private WordleGuessClasses() {
+    }
+
+    /**
+     * One guess from each group, picked by the tie rules of
+     * WordleSolver.bestGuess: a possible secret if the group has one,
+     * then the earliest word.
+     * @param codes Packed words that may be guessed (see WordlePacked),
+     *       at most six letters.
+     * @param letters Letters of the possible secrets, as from letterMask.
+     * @param isCandidate Which guesses could be the secret, by position.
+     * @param allowed Which guesses may be played (see WordleHardMode), or
+     *       null if all may; the others are left out of every group.
+     * @return Positions of the chosen guesses, in increasing order, or
+     *       null if every guess may be played and is in a group of its own.
+     */
+    public static int[] representatives(int[] codes, int letters, boolean[] isCandidate,
+                                        boolean[] allowed) {
+        if (letters == (1 << 26) - 1 && allowed == null) {
+            return null;
+        }
+
+        // Open addressing from signature to the group's chosen guess
+        int capacity = Integer.highestOneBit(Math.max(codes.length, 1) * 2 - 1) << 1;
+        int[] keys = new int[capacity];
+        int[] chosen = new int[capacity];
+        int mask = capacity - 1;
+        int groups = 0;
+        for (int guess = 0; guess < codes.length; guess++) {
+            if (allowed != null && !allowed[guess]) {
+                continue;
+            }
+            // +1 so a guess with every letter blanked still differs from an empty slot
+            int key = signature(codes[guess], letters) + 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                chosen[slot] = guess;
+                groups++;
+            } else if (isCandidate[guess] && !isCandidate[chosen[slot]]) {
+                chosen[slot] = guess;
+            }
+        }
+        if (groups == codes.length && allowed == null) {
+            return null;
+        }
+
+        boolean[] kept = new boolean[codes.length];
+        for (int slot = 0; slot < capacity; slot++) {
+            if (keys[slot] != 0) {
+                kept[chosen[slot]] = true;
+            }
+        }
+        int[] result = new int[groups];
+        int n = 0;
+        for (int guess = 0; guess < codes.length; guess++) {
+            if (kept[guess]) {
+                result[n++] = guess;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The packed guess with every letter outside a letter mask blanked to 0.
+     * @param code Packed guess.
+     * @param letters Bit l - 1 set for each letter l that matters.
+     * @return The signature.
+     */
+    public static int signature(int code, int letters) {
+        int signature = code;
+        for (int shift = 0; shift < 32 - WordlePacked.LETTER_BITS; shift += WordlePacked.LETTER_BITS) {
+            int letter = code >>> shift & WordlePacked.LETTER_MASK;
+            if (letter != 0 && (letters >>> (letter - 1) & 1) == 0) {
+                signature &= ~(WordlePacked.LETTER_MASK << shift);
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * The letters of a packed word as a mask; OR these together for a
+     * set of secrets.
+     * @param code Packed word.
+     * @return Bit l - 1 set for each letter l in the word.
+     */
+    public static int letterMask(int code) {
+        int mask = 0;
+        for (; code != 0; code >>>= WordlePacked.LETTER_BITS) {
+            mask |= 1 << ((code & WordlePacked.LETTER_MASK) - 1);
+        }
+        return mask;
+    }
+
+    /** Spreads the bits of a signature for use as a table slot. */
+    private static int mix(int key) {
+        key *= 0x9E3779B9;
+        return key ^ (key >>> 16);
+    }
+}
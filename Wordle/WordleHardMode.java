@@ -0,0 +1,196 @@
+import java.util.List;
+
+/**
+ * The rules of hard mode: every later guess must use the hints revealed
+ * so far. A letter that came back CORRECT must be guessed in the same
+ * place again, and each letter must appear at least as often as it was
+ * revealed (CORRECT or PRESENT) by any one earlier guess.
+ *
+ * The rules are kept as two kinds of masks that are updated after each
+ * turn: the fixed letters as a packed word plus a mask of their fields,
+ * and the minimum count of each letter as a 4-bit field of two longs
+ * (letters a to p in the first, q to z in the second, as in WordlePattern).
+ * Checking a guess is one masked compare for the fixed letters and a
+ * subtraction per long that tests all the letter counts at once.
+ *
+ * Words are limited to six letters, so a count never reaches 8 and the
+ * top bit of each 4-bit field is free to catch borrows.
+ */
+public class WordleHardMode {
+
+    /** The top bit of every 4-bit field. */
+    private static final long FIELD_TOPS = 0x8888888888888888L;
+
+    private final int length;
+
+    /** WordlePacked.LETTER_MASK at every fixed position. */
+    private int fixedMask;
+
+    /** The fixed letters, packed, 0 elsewhere. */
+    private int fixedLetters;
+
+    /** Minimum count of each letter, letters 1 to 16 and 17 to 26. */
+    private long minLow;
+    private long minHigh;
+
+    /**
+     * Starts with no hints.
+     * @param length Word length, at most WordlePacked.MAX_INT_LENGTH
+     */
+    public WordleHardMode(int length) {
+        if (length <= 0 || length > WordlePacked.MAX_INT_LENGTH) {
+            throw new IllegalArgumentException("Hard mode needs words of 1 to "
+                                               + WordlePacked.MAX_INT_LENGTH + " letters");
+        }
+        this.length = length;
+    }
+
+    /**
+     * The rules after a game's turns so far.
+     * @param length Word length
+     * @param history Turns played, oldest first
+     * @return Rules using every hint in the history
+     */
+    public static WordleHardMode of(int length, List<WordleTurn> history) {
+        WordleHardMode rules = new WordleHardMode(length);
+        for (WordleTurn turn : history) {
+            rules.add(turn);
+        }
+        return rules;
+    }
+
+    /**
+     * Adds the hints of one turn.
+     * @param turn A turn of the game
+     */
+    public void add(WordleTurn turn) {
+        add(turn.getGuess(), turn.getPattern());
+    }
+
+    /**
+     * Adds the hints a guess got.
+     * @param guess The guessed word
+     * @param pattern Its feedback, as a WordlePattern code
+     */
+    public void add(String guess, int pattern) {
+        int code = WordlePacked.encode(guess);
+        if (code == 0 || guess.length() != length) {
+            throw new IllegalArgumentException("Not a " + length + " letter word: " + guess);
+        }
+        long revealedLow = 0;
+        long revealedHigh = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = WordlePattern.digit(pattern, i);
+            if (digit == WordlePattern.MISSING) {
+                continue;
+            }
+            int letter = WordlePacked.letter(code, i);
+            if (digit == WordlePattern.CORRECT) {
+                int field = WordlePacked.LETTER_MASK << (WordlePacked.LETTER_BITS * i);
+                fixedMask |= field;
+                fixedLetters = (fixedLetters & ~field) | (code & field);
+            }
+            if (letter <= 16) {
+                revealedLow += 1L << ((letter - 1) << 2);
+            } else {
+                revealedHigh += 1L << ((letter - 17) << 2);
+            }
+        }
+        minLow = fieldMax(minLow, revealedLow);
+        minHigh = fieldMax(minHigh, revealedHigh);
+    }
+
+    /**
+     * Does a guess use every hint so far?
+     * @param guess The guess, lowercase
+     * @return True if hard mode allows it
+     */
+    public boolean allows(String guess) {
+        int code = WordlePacked.encode(guess);
+        return code != 0 && guess.length() == length && allows(code);
+    }
+
+    /**
+     * Does a packed guess use every hint so far?
+     * @param code The guess, packed by WordlePacked, of the right length
+     * @return True if hard mode allows it
+     */
+    public boolean allows(int code) {
+        if ((code & fixedMask) != fixedLetters) {
+            return false;
+        }
+        long low = 0;
+        long high = 0;
+        for (int c = code; c != 0; c >>>= WordlePacked.LETTER_BITS) {
+            int letter = c & WordlePacked.LETTER_MASK;
+            if (letter <= 16) {
+                low += 1L << ((letter - 1) << 2);
+            } else {
+                high += 1L << ((letter - 17) << 2);
+            }
+        }
+        return covers(low, minLow) && covers(high, minHigh);
+    }
+
+    /**
+     * Explains why hard mode refuses a guess, in the words of the
+     * official game.
+     * @param guess The guess, a lowercase word of the right length
+     * @return The first broken rule, or null if the guess is allowed
+     */
+    public String violation(String guess) {
+        int code = WordlePacked.encode(guess);
+        for (int i = 0; i < length; i++) {
+            int field = WordlePacked.LETTER_MASK << (WordlePacked.LETTER_BITS * i);
+            if ((fixedMask & field) != 0 && (code & field) != (fixedLetters & field)) {
+                return ordinal(i + 1) + " letter must be "
+                    + Character.toUpperCase(WordlePacked.charAt(fixedLetters, i));
+            }
+        }
+        for (int letter = 1; letter <= 26; letter++) {
+            long min = letter <= 16
+                ? minLow >>> ((letter - 1) << 2) & 0xF
+                : minHigh >>> ((letter - 17) << 2) & 0xF;
+            int count = 0;
+            for (int i = 0; i < guess.length(); i++) {
+                count += guess.charAt(i) == 'a' + letter - 1 ? 1 : 0;
+            }
+            if (count < min) {
+                char shown = (char) ('A' + letter - 1);
+                return min == 1
+                    ? "Guess must contain " + shown
+                    : "Guess must contain " + shown + " " + min + " times";
+            }
+        }
+        return null;
+    }
+
+    /** Are all 4-bit fields of counts at least those of min? */
+    private static boolean covers(long counts, long min) {
+        // Each field of counts | FIELD_TOPS is 8 more than the count, so no
+        // field borrows from the next and its top bit survives if count >= min
+        return (((counts | FIELD_TOPS) - min) & FIELD_TOPS) == FIELD_TOPS;
+    }
+
+    /** The larger of each pair of 4-bit fields, both below 8. */
+    private static long fieldMax(long a, long b) {
+        // Top bit of each field of the difference is set where a < b
+        long aBelow = ((a | FIELD_TOPS) - b) & FIELD_TOPS ^ FIELD_TOPS;
+        long select = (aBelow >>> 3) * 0xF;
+        return (a & ~select) | (b & select);
+    }
+
+    /** "1st", "2nd", ... */
+    private static String ordinal(int n) {
+        switch (n) {
+            case 1:
+                return "1st";
+            case 2:
+                return "2nd";
+            case 3:
+                return "3rd";
+            default:
+                return n + "th";
+        }
+    }
+}
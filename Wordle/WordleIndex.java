@@ -0,0 +1,120 @@
+/**
+ * An immutable lookup table for a Wordle dictionary.
+ *
+ * Words are packed into a long (see WordlePacked) and stored in an
+ * open-addressing hash table, so checking a guess is a couple of array
+ * reads instead of a scan over every word in the dictionary.
+ */
+public class WordleIndex {
+
+    /** Packed key of an empty slot. Real words never pack to 0. */
+    private static final long EMPTY = 0L;
+
+    private final long[] keys;
+    private final int[] positions;
+    private final int mask;
+    private final int size;
+
+    /**
+     * Builds an index over the given words. If a word appears more than
+     * once, the first position is kept.
+     * @param dictionary Array of lowercase words.
+     */
+    public WordleIndex(String[] dictionary) {
+        int capacity = 1;
+        while (capacity < dictionary.length * 2) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        positions = new int[capacity];
+        mask = capacity - 1;
+
+        int count = 0;
+        for (int i = 0; i < dictionary.length; i++) {
+            long key = WordlePacked.encodeLong(dictionary[i]);
+            if (key == EMPTY) {
+                throw new IllegalArgumentException("Not a dictionary word: " + dictionary[i]);
+            }
+            int slot = slotFor(key);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                positions[slot] = i;
+                count++;
+            }
+        }
+        size = count;
+    }
+
+    /**
+     * Is the word in this index?
+     * @param word The word to look up.
+     * @return True if word is in the dictionary, false if not.
+     */
+    public boolean contains(String word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * Where does the word appear in the dictionary this index was built from?
+     * @param word The word to look up.
+     * @return Position of word in the dictionary, or -1 if it is not there.
+     */
+    public int indexOf(String word) {
+        return indexOf(WordlePacked.encodeLong(word));
+    }
+
+    /**
+     * Where does the packed word appear in the dictionary this index was
+     * built from?
+     * @param key Packed word, as made by WordlePacked.
+     * @return Position of the word in the dictionary, or -1 if it is not there.
+     */
+    public int indexOf(long key) {
+        if (key == EMPTY) {
+            return -1;
+        }
+        int slot = slotFor(key);
+        return keys[slot] == EMPTY ? -1 : positions[slot];
+    }
+
+    /**
+     * How many distinct words are in this index?
+     * @return Number of distinct words.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Index over the shared five letter word list (see WordleWordList),
+     * built on first use.
+     * @return The shared five letter word index.
+     */
+    public static WordleIndex fiveLetterIndex() {
+        return FiveLetterHolder.INDEX;
+    }
+
+    /** Finds the slot holding key, or the empty slot where it would go. */
+    private int slotFor(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /** Spreads the bits of a packed key (murmur3 finalizer). */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /** Lazily builds the five letter index the first time it is asked for. */
+    private static class FiveLetterHolder {
+        static final WordleIndex INDEX = new WordleIndex(WordleWordList.fiveLetterWords());
+    }
+}
@@ -0,0 +1,177 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Word lists for Wordle variants of any length from 2 to 12 letters.
+ *
+ * Words are split into one bucket per length, each with its own packed
+ * codes and WordleIndex, so a lookup only ever touches words of the right
+ * length and never scans a mixed list.
+ */
+public class WordleLexicon {
+
+    /** Shortest supported word. */
+    public static final int MIN_LENGTH = 2;
+
+    /** Longest supported word (the limit of a packed long). */
+    public static final int MAX_LENGTH = WordlePacked.MAX_LONG_LENGTH;
+
+    private static final String[] NO_WORDS = new String[0];
+    private static final long[] NO_CODES = new long[0];
+    private static final WordleIndex NO_INDEX = new WordleIndex(NO_WORDS);
+
+    private final String[][] words = new String[MAX_LENGTH + 1][];
+    private final long[][] codes = new long[MAX_LENGTH + 1][];
+    private final WordleIndex[] indexes = new WordleIndex[MAX_LENGTH + 1];
+
+    /**
+     * Buckets the words of one or more lists by length. Repeated words are
+     * kept once; words that are too short, too long or not all lowercase
+     * letters are skipped.
+     * @param wordLists Arrays of words, any mix of lengths.
+     */
+    public WordleLexicon(String[]... wordLists) {
+        List<List<String>> buckets = new ArrayList<>();
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (String[] list : wordLists) {
+            for (String word : list) {
+                int length = word.length();
+                if (length >= MIN_LENGTH && length <= MAX_LENGTH
+                        && WordlePacked.encodeLong(word) != 0) {
+                    buckets.get(length).add(word);
+                }
+            }
+        }
+        for (int length = MIN_LENGTH; length <= MAX_LENGTH; length++) {
+            String[] bucket = buckets.get(length).toArray(NO_WORDS);
+            WordleIndex index = new WordleIndex(bucket);
+            if (index.size() < bucket.length) {
+                bucket = withoutRepeats(bucket, index);
+                index = new WordleIndex(bucket);
+            }
+            long[] packed = new long[bucket.length];
+            for (int i = 0; i < bucket.length; i++) {
+                packed[i] = WordlePacked.encodeLong(bucket[i]);
+            }
+            words[length] = bucket;
+            codes[length] = packed;
+            indexes[length] = index;
+        }
+    }
+
+    /**
+     * Lexicon of the word lists that ship with the game: the two letter
+     * words and the shared five letter list (see WordleWordList).
+     * @return The shared lexicon, built on first use.
+     */
+    public static WordleLexicon standard() {
+        return StandardHolder.LEXICON;
+    }
+
+    /**
+     * Is the guess a recognized word of its length?
+     * @param guess The guess word.
+     * @return True if guess is in the lexicon, false if not.
+     */
+    public boolean isValidWord(String guess) {
+        int length = guess.length();
+        return length >= MIN_LENGTH && length <= MAX_LENGTH && indexes[length].contains(guess);
+    }
+
+    /**
+     * Picks a random word of the given length.
+     * @param length Number of letters.
+     * @return Randomly chosen word.
+     * @throws IllegalArgumentException If there are no words of that length.
+     */
+    public String getRandomWord(int length) {
+        String[] bucket = getWords(length);
+        if (bucket.length == 0) {
+            throw new IllegalArgumentException("No " + length + " letter words");
+        }
+        return bucket[ThreadLocalRandom.current().nextInt(bucket.length)];
+    }
+
+    /**
+     * How close is the guess to the secret word? Works for any supported
+     * length; see Wordle.getGuessResult.
+     * @param word The secret word
+     * @param guess Guessed word, same length as word
+     * @return Array of Wordle.CORRECT, Wordle.PRESENT and Wordle.MISSING
+     */
+    public char[] getGuessResult(String word, String guess) {
+        return WordlePattern.toChars(getGuessPattern(word, guess), word.length());
+    }
+
+    /**
+     * How close is the guess to the secret word, as a WordlePattern code?
+     * @param word The secret word
+     * @param guess Guessed word, same length as word
+     * @return The pattern code
+     */
+    public int getGuessPattern(String word, String guess) {
+        if (word.length() != guess.length() || word.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Can't compare " + word + " with " + guess);
+        }
+        return WordlePattern.of(word, guess);
+    }
+
+    /**
+     * Words of one length.
+     * @param length Number of letters.
+     * @return The words, empty if the length is unsupported. Shared, so
+     *       don't modify it.
+     */
+    public String[] getWords(int length) {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return NO_WORDS;
+        }
+        return words[length];
+    }
+
+    /**
+     * Packed codes of the words of one length, in the same order as getWords.
+     * @param length Number of letters.
+     * @return The codes, empty if the length is unsupported. Shared, so
+     *       don't modify it.
+     */
+    public long[] getCodes(int length) {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return NO_CODES;
+        }
+        return codes[length];
+    }
+
+    /**
+     * Lookup index for words of one length.
+     * @param length Number of letters.
+     * @return The index, empty if the length is unsupported; positions
+     *       refer to getWords(length).
+     */
+    public WordleIndex getIndex(int length) {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return NO_INDEX;
+        }
+        return indexes[length];
+    }
+
+    /** Drops repeats, keeping each word where the index first saw it. */
+    private static String[] withoutRepeats(String[] bucket, WordleIndex index) {
+        List<String> kept = new ArrayList<>();
+        for (int i = 0; i < bucket.length; i++) {
+            if (index.indexOf(bucket[i]) == i) {
+                kept.add(bucket[i]);
+            }
+        }
+        return kept.toArray(NO_WORDS);
+    }
+
+    /** Builds the standard lexicon the first time it is asked for. */
+    private static class StandardHolder {
+        static final WordleLexicon LEXICON = new WordleLexicon(
+            WordleDictionary.TWO_LETTER_WORDS, WordleWordList.fiveLetterWords());
+    }
+}
@@ -0,0 +1,380 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics over logs of played games.
+ *
+ * A log has one game per line: the secret, then the guesses in order,
+ * separated by spaces. Blank lines and lines starting with '#' are
+ * skipped. Feedback is recomputed with Wordle.getGuessResult, and a game
+ * ends at its first winning guess.
+ *
+ * The log is read in batches of lines that are handed to worker threads.
+ * Only a few batches may be in flight at once, and all totals are arrays
+ * indexed by dictionary position, so memory use does not grow with the
+ * size of the log. Each worker keeps its own totals, merged at the end.
+ */
+public class WordleLogAnalyzer {
+
+    /** Lines handed to a worker at a time. */
+    private static final int BATCH_LINES = 4096;
+
+    /** Games needing more guesses than this are grouped in the last bucket. */
+    private static final int MAX_DEPTH = 20;
+
+    /** Number of words shown in each ranking of the report. */
+    private static final int TOP = 10;
+
+    /** Words need this many games before they are ranked by difficulty. */
+    private static final int MIN_GAMES_FOR_DIFFICULTY = 5;
+
+    private final String[] words;
+    private final WordleIndex index;
+    private final Totals totals;
+
+    private WordleLogAnalyzer(String[] words, WordleIndex index, Totals totals) {
+        this.words = words;
+        this.index = index;
+        this.totals = totals;
+    }
+
+    /**
+     * Reads a whole log and gathers its statistics.
+     * @param log The log, read to the end but not closed.
+     * @param words Dictionary the games were played with.
+     * @param threads Number of worker threads.
+     * @return The statistics.
+     * @throws IOException If reading fails or a worker fails on a batch.
+     */
+    public static WordleLogAnalyzer analyze(Reader log, String[] words, int threads)
+            throws IOException {
+        WordleIndex index = new WordleIndex(words);
+        List<Totals> perWorker = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<Totals> workerTotals = ThreadLocal.withInitial(() -> {
+            Totals t = new Totals(words.length);
+            perWorker.add(t);
+            return t;
+        });
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<?>> batches = new ArrayList<>();
+        BufferedReader in = log instanceof BufferedReader
+            ? (BufferedReader) log
+            : new BufferedReader(log, 1 << 16);
+        try {
+            String[] batch = new String[BATCH_LINES];
+            int n = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                batch[n++] = line;
+                if (n == BATCH_LINES) {
+                    batches.add(submit(workers, inFlight, batch, n, index, workerTotals));
+                    batch = new String[BATCH_LINES];
+                    n = 0;
+                }
+            }
+            if (n > 0) {
+                batches.add(submit(workers, inFlight, batch, n, index, workerTotals));
+            }
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while analyzing", e);
+            }
+        }
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            } catch (ExecutionException e) {
+                throw new IOException("Analysis of a batch failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while analyzing", e);
+            }
+        }
+
+        Totals merged = new Totals(words.length);
+        for (Totals t : perWorker) {
+            merged.add(t);
+        }
+        return new WordleLogAnalyzer(words, index, merged);
+    }
+
+    /**
+     * Hands a batch to the workers, waiting if too many are in flight.
+     * The future gives any exception the batch threw.
+     */
+    private static Future<?> submit(ExecutorService workers, Semaphore inFlight, String[] batch,
+                                    int lines, WordleIndex index, ThreadLocal<Totals> totals)
+            throws IOException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading", e);
+        }
+        return workers.submit(() -> {
+            try {
+                Totals t = totals.get();
+                for (int i = 0; i < lines; i++) {
+                    t.addGame(batch[i], index);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Get the number of games read
+     * @return Games, not counting skipped or malformed lines
+     */
+    public long getGames() {
+        return totals.games;
+    }
+
+    /**
+     * Get the number of games won within Wordle.NUMBER_OF_GUESSES
+     * @return Games won
+     */
+    public long getWins() {
+        long wins = 0;
+        for (int d = 1; d <= Wordle.NUMBER_OF_GUESSES; d++) {
+            wins += totals.depths[d];
+        }
+        return wins;
+    }
+
+    /**
+     * Get the number of lines that were not a game of known words
+     * @return Malformed lines
+     */
+    public long getMalformed() {
+        return totals.malformed;
+    }
+
+    /**
+     * Average guesses over games that were won at all.
+     * @return Average solve depth
+     */
+    public double getAverageDepth() {
+        long won = 0;
+        long guesses = 0;
+        for (int d = 1; d < totals.depths.length; d++) {
+            won += totals.depths[d];
+            guesses += (long) d * totals.depths[d];
+        }
+        return won == 0 ? 0 : (double) guesses / won;
+    }
+
+    /**
+     * How often a word was the first guess.
+     * @param word The word.
+     * @return Number of games that opened with it.
+     */
+    public long getFirstGuessCount(String word) {
+        int w = index.indexOf(word);
+        return w < 0 ? 0 : totals.firstGuesses[w];
+    }
+
+    /**
+     * Average guesses needed when a word was the secret, counting a game
+     * that wasn't won as Wordle.NUMBER_OF_GUESSES + 1.
+     * @param word The secret.
+     * @return Average, or 0 if the word was never the secret.
+     */
+    public double getDifficulty(String word) {
+        int w = index.indexOf(word);
+        if (w < 0 || totals.plays[w] == 0) {
+            return 0;
+        }
+        return (double) totals.guesses[w] / totals.plays[w];
+    }
+
+    /**
+     * Multi-line summary of the log.
+     * @return The report.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("games: %d (malformed lines: %d)%n", getGames(), getMalformed()));
+        report.append(String.format("won within %d: %d%n", Wordle.NUMBER_OF_GUESSES, getWins()));
+        report.append(String.format("average solve depth: %.3f%n", getAverageDepth()));
+        for (int d = 1; d < totals.depths.length; d++) {
+            if (totals.depths[d] > 0) {
+                report.append(String.format("  %2d%s guesses: %d%n", d,
+                                            d == MAX_DEPTH ? "+" : "", totals.depths[d]));
+            }
+        }
+        if (totals.unsolved > 0) {
+            report.append(String.format("  never solved: %d%n", totals.unsolved));
+        }
+
+        report.append("most popular first guesses:\n");
+        for (int w : top(totals.firstGuesses, true)) {
+            report.append(String.format("  %s %d%n", words[w], totals.firstGuesses[w]));
+        }
+
+        double[] difficulty = new double[words.length];
+        for (int w = 0; w < words.length; w++) {
+            difficulty[w] = totals.plays[w] >= MIN_GAMES_FOR_DIFFICULTY
+                ? (double) totals.guesses[w] / totals.plays[w]
+                : Double.NaN;
+        }
+        report.append("hardest secrets (average guesses):\n");
+        for (int w : top(difficulty, true)) {
+            report.append(String.format("  %s %.2f over %d games%n",
+                                        words[w], difficulty[w], totals.plays[w]));
+        }
+        report.append("easiest secrets (average guesses):\n");
+        for (int w : top(difficulty, false)) {
+            report.append(String.format("  %s %.2f over %d games%n",
+                                        words[w], difficulty[w], totals.plays[w]));
+        }
+        return report.toString();
+    }
+
+    /** Positions of the TOP largest (or smallest) nonzero counts. */
+    private static int[] top(long[] counts, boolean largest) {
+        double[] values = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            values[i] = counts[i] == 0 ? Double.NaN : counts[i];
+        }
+        return top(values, largest);
+    }
+
+    /** Positions of the TOP largest (or smallest) values, skipping NaN. */
+    private static int[] top(double[] values, boolean largest) {
+        int[] best = new int[TOP];
+        int n = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (Double.isNaN(values[i])) {
+                continue;
+            }
+            // Insertion into a small sorted array, ties keep dictionary order
+            int at = n;
+            while (at > 0 && (largest ? values[i] > values[best[at - 1]]
+                                      : values[i] < values[best[at - 1]])) {
+                at--;
+            }
+            if (at < TOP) {
+                int end = Math.min(n, TOP - 1);
+                System.arraycopy(best, at, best, at + 1, end - at);
+                best[at] = i;
+                n = Math.min(n + 1, TOP);
+            }
+        }
+        return Arrays.copyOf(best, n);
+    }
+
+    /** Running totals for one worker, all indexed by dictionary position. */
+    private static class Totals {
+        long games;
+        long malformed;
+        long unsolved;
+        final long[] depths = new long[MAX_DEPTH + 1];
+        final long[] firstGuesses;
+        final long[] plays;
+        final long[] guesses;
+
+        Totals(int words) {
+            firstGuesses = new long[words];
+            plays = new long[words];
+            guesses = new long[words];
+        }
+
+        /** Replays one log line. */
+        void addGame(String line, WordleIndex index) {
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                return;
+            }
+            String[] parts = line.split("\\s+");
+            int secret = index.indexOf(parts[0]);
+            if (secret < 0 || parts.length < 2) {
+                malformed++;
+                return;
+            }
+            int depth = 0;
+            for (int i = 1; i < parts.length && depth == 0; i++) {
+                String guess = parts[i];
+                if (guess.length() != parts[0].length()) {
+                    malformed++;
+                    return;
+                }
+                if (Wordle.isWinningResult(Wordle.getGuessResult(parts[0], guess))) {
+                    depth = i;
+                }
+            }
+
+            games++;
+            int first = index.indexOf(parts[1]);
+            if (first >= 0) {
+                firstGuesses[first]++;
+            }
+            plays[secret]++;
+            if (depth == 0) {
+                unsolved++;
+                guesses[secret] += Wordle.NUMBER_OF_GUESSES + 1;
+            } else {
+                depths[Math.min(depth, MAX_DEPTH)]++;
+                guesses[secret] += Math.min(depth, Wordle.NUMBER_OF_GUESSES + 1);
+            }
+        }
+
+        /** Adds another worker's totals into these. */
+        void add(Totals other) {
+            games += other.games;
+            malformed += other.malformed;
+            unsolved += other.unsolved;
+            for (int i = 0; i < depths.length; i++) {
+                depths[i] += other.depths[i];
+            }
+            for (int i = 0; i < plays.length; i++) {
+                firstGuesses[i] += other.firstGuesses[i];
+                plays[i] += other.plays[i];
+                guesses[i] += other.guesses[i];
+            }
+        }
+    }
+
+    /**
+     * Prints a report for a game log.
+     * @param args The log file, then optionally the number of worker threads
+     * @throws IOException If the log can't be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: java WordleLogAnalyzer log-file [threads]");
+            return;
+        }
+        int threads = args.length > 1
+            ? Integer.parseInt(args[1])
+            : Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+        WordleLogAnalyzer analyzer;
+        try (Reader log = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.US_ASCII)) {
+            analyzer = analyze(log, WordleWordList.fiveLetterWords(), threads);
+        }
+        System.out.print(analyzer.report());
+        System.out.printf("analyzed in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+    }
+}
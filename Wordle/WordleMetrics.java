@@ -0,0 +1,309 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and latency histograms for the stages of the game loop.
+ *
+ * Metrics are switched on with -Dwordle.metrics=true. The switch is read
+ * once into a static final flag, so when it is off every call here is a
+ * test of a constant that the JIT removes. When it is on, recording is a
+ * nanoTime call and a few atomic increments into arrays made up front;
+ * nothing is allocated until a snapshot is taken.
+ *
+ * Histograms are log-linear like HdrHistogram: each power of two is cut
+ * into SUB_BUCKETS equal buckets, so any recorded value is known to
+ * within about 3% with a fixed 16 KB of counts per histogram.
+ *
+ * Typical use around a stage:
+ *   long start = WordleMetrics.start();
+ *   ... the work ...
+ *   WordleMetrics.record(WordleMetrics.Stage.SCORE, start);
+ */
+public final class WordleMetrics {
+
+    /** System property that switches metrics on. */
+    public static final String PROPERTY = "wordle.metrics";
+
+    /** System property naming a file that periodic dumps are appended to. */
+    public static final String FILE_PROPERTY = "wordle.metrics.file";
+
+    /** System property giving the seconds between periodic dumps. */
+    public static final String PERIOD_PROPERTY = "wordle.metrics.period";
+
+    /** True if metrics are being recorded. */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /** Timed stages of handling one guess. */
+    public enum Stage {
+        /** Reading the guess out of its input line. */
+        PARSE,
+        /** Checking the guess is a known word. */
+        VALIDATE,
+        /** Working out the feedback. */
+        SCORE,
+        /** Writing the feedback out. */
+        OUTPUT
+    }
+
+    /** Counted events. */
+    public enum Counter {
+        /** Games started. */
+        GAMES,
+        /** Guesses that were scored. */
+        GUESSES,
+        /** Guesses refused as unknown words. */
+        INVALID_GUESSES,
+        /** Games won. */
+        WINS
+    }
+
+    private static final Histogram[] STAGES = new Histogram[Stage.values().length];
+    private static final AtomicLongArray COUNTERS = new AtomicLongArray(Counter.values().length);
+
+    static {
+        for (int i = 0; i < STAGES.length; i++) {
+            STAGES[i] = new Histogram();
+        }
+    }
+
+    private WordleMetrics() {
+    }
+
+    /**
+     * Marks the start of a stage.
+     * @return The time to hand to record, or 0 if metrics are off
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records how long a stage took.
+     * @param stage The stage
+     * @param start The value start returned when the stage began
+     */
+    public static void record(Stage stage, long start) {
+        if (ENABLED) {
+            STAGES[stage.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Counts an event.
+     * @param counter What happened
+     */
+    public static void count(Counter counter) {
+        if (ENABLED) {
+            COUNTERS.incrementAndGet(counter.ordinal());
+        }
+    }
+
+    /**
+     * Get a counter
+     * @param counter The counter
+     * @return Events counted so far
+     */
+    public static long get(Counter counter) {
+        return COUNTERS.get(counter.ordinal());
+    }
+
+    /**
+     * Get the histogram of a stage
+     * @param stage The stage
+     * @return Its latencies in nanoseconds, live
+     */
+    public static Histogram histogram(Stage stage) {
+        return STAGES[stage.ordinal()];
+    }
+
+    /** Clears every counter and histogram. */
+    public static void reset() {
+        for (Histogram histogram : STAGES) {
+            histogram.reset();
+        }
+        for (int i = 0; i < COUNTERS.length(); i++) {
+            COUNTERS.set(i, 0);
+        }
+    }
+
+    /**
+     * Text dump of everything recorded so far, latencies in microseconds.
+     * Can be taken while recording goes on; the numbers are then a close
+     * but not exact picture of one moment.
+     * @return The dump
+     */
+    public static String snapshot() {
+        StringBuilder dump = new StringBuilder();
+        dump.append("metrics at ").append(Instant.now()).append('\n');
+        for (Counter counter : Counter.values()) {
+            dump.append(String.format("  %-16s %d%n", counter.name().toLowerCase(), get(counter)));
+        }
+        dump.append(String.format("  %-10s %10s %9s %9s %9s %9s %9s%n",
+                                  "stage", "count", "mean", "p50", "p90", "p99", "max"));
+        for (Stage stage : Stage.values()) {
+            Histogram h = histogram(stage);
+            dump.append(String.format("  %-10s %10d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                                      stage.name().toLowerCase(), h.count(), h.mean() / 1e3,
+                                      h.percentile(50) / 1e3, h.percentile(90) / 1e3,
+                                      h.percentile(99) / 1e3, h.max() / 1e3));
+        }
+        return dump.toString();
+    }
+
+    /**
+     * Appends a snapshot to the file named by wordle.metrics.file, or
+     * prints it to standard output if that isn't set. Set a file when
+     * standard output carries batch results.
+     */
+    public static void dump() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null) {
+            System.out.print(snapshot());
+            System.out.flush();
+            return;
+        }
+        try {
+            Files.write(Paths.get(file), snapshot().getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Can't write metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * If metrics are on, dumps them every wordle.metrics.period seconds
+     * (10 if unset) on a daemon thread, and once more when the JVM exits.
+     * Does nothing when metrics are off.
+     */
+    public static void startPeriodicDumps() {
+        if (!ENABLED) {
+            return;
+        }
+        long period = Long.getLong(PERIOD_PROPERTY, 10);
+        ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "wordle-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(WordleMetrics::dump, period, period, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(WordleMetrics::dump, "wordle-metrics-exit"));
+    }
+
+    /**
+     * A log-linear histogram of non-negative longs. Recording is
+     * thread-safe and allocation-free; reading while others record gives
+     * a slightly blurred picture.
+     */
+    public static class Histogram {
+
+        /** Bits of each value kept below its leading one. */
+        private static final int SUB_BITS = 5;
+
+        /** Buckets per power of two. */
+        public static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+        private final AtomicLongArray counts =
+            new AtomicLongArray((64 - SUB_BITS + 1) * SUB_BUCKETS);
+        private final AtomicLongArray totals = new AtomicLongArray(3); // count, sum, max
+
+        /**
+         * Adds a value.
+         * @param value The value; negative values count as 0
+         */
+        public void record(long value) {
+            value = Math.max(value, 0);
+            counts.incrementAndGet(bucket(value));
+            totals.incrementAndGet(0);
+            totals.addAndGet(1, value);
+            long max;
+            while (value > (max = totals.get(2)) && !totals.compareAndSet(2, max, value)) {
+                // Lost a race with a bigger value, look again
+            }
+        }
+
+        /**
+         * Get the number of values recorded
+         * @return Count
+         */
+        public long count() {
+            return totals.get(0);
+        }
+
+        /**
+         * Get the largest value recorded
+         * @return Exact maximum, 0 if empty
+         */
+        public long max() {
+            return totals.get(2);
+        }
+
+        /**
+         * Get the average of the values recorded
+         * @return Exact mean, 0 if empty
+         */
+        public double mean() {
+            long count = count();
+            return count == 0 ? 0 : (double) totals.get(1) / count;
+        }
+
+        /**
+         * The value below which a share of the recorded values fall.
+         * @param percent Share from 0 to 100
+         * @return Highest value of the bucket holding that rank (never
+         *       above max), or 0 if empty
+         */
+        public long percentile(double percent) {
+            long count = count();
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percent / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return Math.min(highest(i), max());
+                }
+            }
+            return max();
+        }
+
+        /** Clears the histogram. */
+        public void reset() {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+            for (int i = 0; i < totals.length(); i++) {
+                totals.set(i, 0);
+            }
+        }
+
+        /** Bucket of a value: exact below SUB_BUCKETS, then log-linear. */
+        static int bucket(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        /** Largest value that falls in a bucket. */
+        static long highest(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int shift = bucket / SUB_BUCKETS - 1;
+            long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+            return lowest + (1L << shift) - 1;
+        }
+    }
+}
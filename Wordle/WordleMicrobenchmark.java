@@ -0,0 +1,212 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput and allocation benchmarks for the Wordle hot paths:
+ * getGuessResult, getGuessPattern, isValidWord, getRandomWord and
+ * isWinningResult, each over the real dictionary and with inputs chosen
+ * to hit the different branches (repeated letters, all-miss, all-hit).
+ *
+ * Every case runs in a JVM of its own, as JMH forks do. Sharing one JVM
+ * would let the first few cases make the call site in round megamorphic,
+ * so later cases would pay for an interface dispatch the JIT can no
+ * longer inline, and the results would depend on the order of the cases.
+ * The JVM options of this process are passed on to each child.
+ *
+ * Each case gets warmup rounds so the JIT settles, then timed rounds.
+ * Results are summed into a static field so the JIT can't throw the work
+ * away. Allocation per call comes from the JVM's per-thread allocation
+ * counter where available.
+ *
+ * Run with an optional case-name filter:
+ *   java WordleMicrobenchmark [substring]
+ * or measure one case in this JVM, by its exact name:
+ *   java WordleMicrobenchmark --case name
+ */
+public class WordleMicrobenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final long ROUND_NANOS = 200_000_000L;
+    private static final int CALLS_PER_CHECK = 1024;
+
+    /** Collects results so the benchmarked calls can't be optimized away. */
+    private static long sink;
+
+    /** One benchmarked call; i counts calls so cases can vary their input. */
+    private interface Case {
+        long call(int i);
+    }
+
+    /**
+     * Runs the benchmarks and prints a table of results.
+     * @param args Optional substring; only cases whose names contain it
+     *       run, each in a new JVM. Or --case and one exact case name, to
+     *       measure that case in this JVM and print its row.
+     * @throws IOException If a child JVM can't be started
+     * @throws InterruptedException If interrupted while a child runs
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, Case> cases = cases();
+        if (args.length > 1 && args[0].equals("--case")) {
+            Case benchmark = cases.get(args[1]);
+            if (benchmark == null) {
+                throw new IllegalArgumentException("No case named " + args[1]);
+            }
+            measure(args[1], benchmark);
+            return;
+        }
+
+        String filter = args.length > 0 ? args[0] : "";
+        System.out.println(String.format(Locale.ROOT, "%-40s %14s %12s",
+                                         "case", "ops/s", "bytes/op"));
+        System.out.flush();
+        for (String name : cases.keySet()) {
+            if (name.contains(filter)) {
+                int status = new ProcessBuilder(forkCommand(name)).inheritIO().start().waitFor();
+                if (status != 0) {
+                    System.out.println(String.format(Locale.ROOT, "%-40s failed with status %d",
+                                                     name, status));
+                }
+            }
+        }
+    }
+
+    /** The cases by name, in the order they are run. */
+    private static Map<String, Case> cases() {
+        Map<String, Case> cases = new LinkedHashMap<>();
+        String[] words = WordleWordList.fiveLetterWords();
+        WordleIndex index = WordleIndex.fiveLetterIndex();
+        // Inputs come from a power-of-two slice of the dictionary so
+        // choosing them costs only a mask
+        int mask = Integer.highestOneBit(words.length) - 1;
+
+        // Fixed inputs alternate between two equal copies, so the JIT
+        // can't treat a call as loop invariant and hoist it out of round
+        String[] added = copies("added");
+        String[] dread = copies("dread");
+        String[] glass = copies("glass");
+        String[] moony = copies("moony");
+        String[] qwert = copies("qwert");
+        String[] first = copies(words[0]);
+        String[] last = copies(words[words.length - 1]);
+
+        // getGuessResult and getGuessPattern on fixed and dictionary inputs
+        cases.put("getGuessResult repeated letters",
+                  i -> Wordle.getGuessResult(added[i & 1], dread[i & 1])[4]);
+        cases.put("getGuessResult all-miss",
+                  i -> Wordle.getGuessResult(glass[i & 1], moony[i & 1])[0]);
+        cases.put("getGuessResult all-hit",
+                  i -> Wordle.getGuessResult(glass[i & 1], glass[i & 1])[2]);
+        cases.put("getGuessResult dictionary pairs",
+                  i -> Wordle.getGuessResult(words[i & mask], words[(i * 31 + 7) & mask])[1]);
+        cases.put("getGuessPattern repeated letters",
+                  i -> Wordle.getGuessPattern(added[i & 1], dread[i & 1]));
+        cases.put("getGuessPattern all-miss",
+                  i -> Wordle.getGuessPattern(glass[i & 1], moony[i & 1]));
+        cases.put("getGuessPattern all-hit",
+                  i -> Wordle.getGuessPattern(glass[i & 1], glass[i & 1]));
+        cases.put("getGuessPattern dictionary pairs",
+                  i -> Wordle.getGuessPattern(words[i & mask], words[(i * 31 + 7) & mask]));
+
+        // isValidWord, scanning the array vs the index
+        cases.put("isValidWord array hit (early)",
+                  i -> Wordle.isValidWord(words, first[i & 1]) ? 1 : 0);
+        cases.put("isValidWord array hit (late)",
+                  i -> Wordle.isValidWord(words, last[i & 1]) ? 1 : 0);
+        cases.put("isValidWord array miss",
+                  i -> Wordle.isValidWord(words, qwert[i & 1]) ? 1 : 0);
+        cases.put("isValidWord index dictionary words",
+                  i -> Wordle.isValidWord(index, words[i & mask]) ? 1 : 0);
+        cases.put("isValidWord index miss",
+                  i -> Wordle.isValidWord(index, qwert[i & 1]) ? 1 : 0);
+
+        cases.put("getRandomWord",
+                  i -> Wordle.getRandomWord(words).charAt(0));
+
+        // isWinningResult exits at the first non-CORRECT letter
+        char[][] win = {"XXXXX".toCharArray(), "XXXXX".toCharArray()};
+        char[][] missFirst = {".XXXX".toCharArray(), ".XXXX".toCharArray()};
+        char[][] missLast = {"XXXX.".toCharArray(), "XXXX.".toCharArray()};
+        cases.put("isWinningResult win",
+                  i -> Wordle.isWinningResult(win[i & 1]) ? 1 : 0);
+        cases.put("isWinningResult miss first",
+                  i -> Wordle.isWinningResult(missFirst[i & 1]) ? 1 : 0);
+        cases.put("isWinningResult miss last",
+                  i -> Wordle.isWinningResult(missLast[i & 1]) ? 1 : 0);
+        return cases;
+    }
+
+    /** A word and an equal but separate copy of it. */
+    private static String[] copies(String word) {
+        return new String[] {word, new String(word)};
+    }
+
+    /** Command line for a child JVM that measures one case. */
+    private static List<String> forkCommand(String name) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(WordleMicrobenchmark.class.getName());
+        command.add("--case");
+        command.add(name);
+        return command;
+    }
+
+    /** Warms up and measures one case, printing its row. */
+    private static void measure(String name, Case benchmark) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            round(benchmark);
+        }
+        long calls = 0;
+        long nanos = 0;
+        long bytes = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            calls += round(benchmark);
+            nanos += System.nanoTime() - start;
+            bytes += allocatedBytes() - allocatedBefore;
+        }
+        String perCall = allocatedBytes() < 0
+            ? "n/a"
+            : String.format(Locale.ROOT, "%.1f", (double) bytes / calls);
+        System.out.println(String.format(Locale.ROOT, "%-40s %14.0f %12s",
+                                         name, calls / (nanos / 1e9), perCall));
+    }
+
+    /** Calls the case for about ROUND_NANOS, returning how many calls were made. */
+    private static long round(Case benchmark) {
+        long calls = 0;
+        long total = 0;
+        long end = System.nanoTime() + ROUND_NANOS;
+        int i = 0;
+        do {
+            for (int k = 0; k < CALLS_PER_CHECK; k++) {
+                total += benchmark.call(i++);
+            }
+            calls += CALLS_PER_CHECK;
+        } while (System.nanoTime() < end);
+        sink += total;
+        return calls;
+    }
+
+    /** Bytes allocated by this thread so far, or -1 if the JVM can't tell. */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads)
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,191 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A multi-board Wordle game (Quordle, Octordle and so on): several
+ * secrets at once, and every guess is played on every board that is not
+ * solved yet. The game is won when all boards are solved.
+ *
+ * The secrets are kept as packed words in one int array and a guess is
+ * scored against all of them in one branch-free pass over that array
+ * (WordlePattern.ofAll), into a byte buffer reused from guess to guess.
+ * The solved boards are tracked as bits of a long. Six letter words have
+ * patterns too big for a byte, so they are scored one board at a time.
+ *
+ * A board holds one game and is not meant to be shared between threads.
+ */
+public class WordleMultiBoard {
+
+    /** Most boards one game can have. */
+    public static final int MAX_BOARDS = 64;
+
+    /** Feedback recorded for a board that was already solved. */
+    public static final int SOLVED = -1;
+
+    private final String[] secrets;
+    private final int[] secretCodes;
+    private final WordleIndex index;
+    private final int win;
+    private final byte[] scored;
+    private final List<String> guesses = new ArrayList<>();
+    private final List<int[]> feedback = new ArrayList<>();
+    private long solved;
+    private int guessesLeft;
+
+    /**
+     * Starts a game.
+     * @param secrets One secret per board, same length, at most six letters.
+     * @param index Words the player may guess.
+     * @param guesses Number of guesses allowed.
+     */
+    public WordleMultiBoard(String[] secrets, WordleIndex index, int guesses) {
+        if (secrets.length == 0 || secrets.length > MAX_BOARDS) {
+            throw new IllegalArgumentException("Need 1 to " + MAX_BOARDS + " boards");
+        }
+        for (String secret : secrets) {
+            if (secret.length() != secrets[0].length() || secret.length() > 6) {
+                throw new IllegalArgumentException("Secrets must have the same length, at most six: "
+                                                   + secret);
+            }
+        }
+        this.secrets = secrets.clone();
+        this.secretCodes = WordlePacked.encodeAll(secrets);
+        this.index = index;
+        this.win = WordlePattern.winning(secrets[0].length());
+        this.scored = new byte[secrets.length];
+        this.guessesLeft = guesses;
+    }
+
+    /**
+     * Starts a game with random secrets from the shared five letter list
+     * and the usual allowance of one guess per board plus five.
+     * @param boards Number of boards, usually 4, 8 or 16.
+     * @param random Source of randomness.
+     * @return A new game.
+     */
+    public static WordleMultiBoard random(int boards, RandomGenerator random) {
+        String[] words = WordleWordList.fiveLetterWords();
+        String[] secrets = new String[boards];
+        for (int b = 0; b < boards; b++) {
+            secrets[b] = Wordle.getRandomWord(words, random);
+        }
+        return new WordleMultiBoard(secrets, WordleIndex.fiveLetterIndex(), boards + 5);
+    }
+
+    /**
+     * Plays a guess on every unsolved board.
+     * @param guess A dictionary word.
+     * @return Feedback per board as WordlePattern codes, SOLVED for boards
+     *       that were already solved before this guess. Kept as the game's
+     *       history, so don't modify it.
+     */
+    public int[] guess(String guess) {
+        if (isOver()) {
+            throw new IllegalStateException("The game is over");
+        }
+        int guessIndex = index.indexOf(guess);
+        if (guessIndex < 0 || guess.length() != secrets[0].length()) {
+            throw new IllegalArgumentException("Not a dictionary word: " + guess);
+        }
+        int guessCode = WordlePacked.encode(guess);
+        int[] patterns = new int[secretCodes.length];
+        if (guess.length() <= 5) {
+            WordlePattern.ofAll(guessCode, secretCodes, scored);
+            for (int b = 0; b < secretCodes.length; b++) {
+                patterns[b] = scored[b] & 0xFF;
+            }
+        } else {
+            for (int b = 0; b < secretCodes.length; b++) {
+                patterns[b] = WordlePattern.of(secretCodes[b], guessCode);
+            }
+        }
+        long newlySolved = 0;
+        for (int b = 0; b < secretCodes.length; b++) {
+            newlySolved |= (patterns[b] == win ? 1L : 0L) << b;
+            if ((solved >>> b & 1) != 0) {
+                patterns[b] = SOLVED;
+            }
+        }
+        solved |= newlySolved;
+        guesses.add(guess);
+        feedback.add(patterns);
+        guessesLeft--;
+        return patterns;
+    }
+
+    /**
+     * Turns played on one board, up to and including the one that solved it.
+     * @param board Board number.
+     * @return The board's history, oldest first.
+     */
+    public List<WordleTurn> getHistory(int board) {
+        List<WordleTurn> history = new ArrayList<>();
+        for (int turn = 0; turn < guesses.size(); turn++) {
+            int pattern = feedback.get(turn)[board];
+            if (pattern == SOLVED) {
+                break;
+            }
+            history.add(new WordleTurn(guesses.get(turn), pattern));
+        }
+        return history;
+    }
+
+    /**
+     * Has a board been solved?
+     * @param board Board number.
+     * @return True if its secret has been guessed.
+     */
+    public boolean isSolved(int board) {
+        return (solved >>> board & 1) != 0;
+    }
+
+    /**
+     * Have all boards been solved?
+     * @return True if the game is won.
+     */
+    public boolean isWon() {
+        return Long.bitCount(solved) == secrets.length;
+    }
+
+    /**
+     * Has the game ended?
+     * @return True if it is won or no guesses are left.
+     */
+    public boolean isOver() {
+        return isWon() || guessesLeft == 0;
+    }
+
+    /**
+     * Get the number of boards
+     * @return Board count
+     */
+    public int getBoards() {
+        return secrets.length;
+    }
+
+    /**
+     * Get the number of guesses left
+     * @return Guesses left
+     */
+    public int getGuessesLeft() {
+        return guessesLeft;
+    }
+
+    /**
+     * Get the number of guesses played
+     * @return Guesses so far
+     */
+    public int getGuessCount() {
+        return guesses.size();
+    }
+
+    /**
+     * Get the secret of a board
+     * @param board Board number
+     * @return The secret
+     */
+    public String getSecret(int board) {
+        return secrets[board];
+    }
+}
@@ -0,0 +1,79 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Picks guesses for multi-board games.
+ *
+ * Each unsolved board has its own set of possible secrets. If some board
+ * is down to a single word, that word is guessed, since it solves a board
+ * for sure. Otherwise the guess with the most expected information
+ * summed over all unsolved boards is played (see WordleSolver).
+ */
+public class WordleMultiSolver {
+
+    private final WordleSolver solver;
+
+    /**
+     * Creates a multi-board solver.
+     * @param solver Single-board solver over the game's dictionary.
+     */
+    public WordleMultiSolver(WordleSolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Chooses the next guess for a game in progress.
+     * @param game The game.
+     * @return The word to guess next.
+     * @throws IllegalStateException If some board has no possible secret left.
+     */
+    public String nextGuess(WordleMultiBoard game) {
+        int unsolved = 0;
+        int[][] candidateSets = new int[game.getBoards()][];
+        for (int b = 0; b < game.getBoards(); b++) {
+            if (game.isSolved(b)) {
+                continue;
+            }
+            int[] candidates = solver.remainingCandidates(game.getHistory(b));
+            if (candidates.length == 0) {
+                throw new IllegalStateException("No word fits board " + b);
+            }
+            if (candidates.length == 1) {
+                return solver.getDictionary()[candidates[0]];
+            }
+            candidateSets[unsolved++] = candidates;
+        }
+        if (unsolved == 0) {
+            throw new IllegalStateException("Every board is solved");
+        }
+        int best = solver.bestGuess(Arrays.copyOf(candidateSets, unsolved));
+        return solver.getDictionary()[best];
+    }
+
+    /**
+     * Shows the solver playing a random game.
+     * @param args Number of boards (4 if absent), then an optional seed
+     */
+    public static void main(String[] args) {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        SplittableRandom random = args.length > 1
+            ? new SplittableRandom(Long.parseLong(args[1]))
+            : new SplittableRandom();
+        WordleMultiBoard game = WordleMultiBoard.random(boards, random);
+        WordleMultiSolver solver = new WordleMultiSolver(
+            new WordleSolver(WordleWordList.fiveLetterWords()));
+        while (!game.isOver()) {
+            String guess = solver.nextGuess(game);
+            int[] patterns = game.guess(guess);
+            StringBuilder line = new StringBuilder(guess);
+            for (int pattern : patterns) {
+                line.append(' ').append(pattern == WordleMultiBoard.SOLVED
+                                        ? "-----"
+                                        : new String(WordlePattern.toChars(pattern, guess.length())));
+            }
+            System.out.println(line);
+        }
+        System.out.println((game.isWon() ? "Won" : "Lost") + " in " + game.getGuessCount()
+                           + " guesses");
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Packed integer form of Wordle words.
+ *
+ * Each letter takes 5 bits, with 'a' stored as 1 and 'z' as 26, and
+ * letter i lives in bits 5*i..5*i+4. A five letter word fits in 25 bits
+ * of an int; words of up to 12 letters fit in a long. Because no letter
+ * packs to 0, the length of a word can be read back from its code and
+ * 0 is free to mean "not a word".
+ */
+public class WordlePacked {
+
+    /** Bits used for each letter. */
+    public static final int LETTER_BITS = 5;
+
+    /** Mask for one packed letter. */
+    public static final int LETTER_MASK = (1 << LETTER_BITS) - 1;
+
+    /** Longest word that fits in an int code. */
+    public static final int MAX_INT_LENGTH = 6;
+
+    /** Longest word that fits in a long code. */
+    public static final int MAX_LONG_LENGTH = 12;
+
+    /**
+     * Packs a word of up to 6 letters into an int.
+     * @param word Lowercase word.
+     * @return The packed code, or 0 if word is empty, too long or not all
+     *       lowercase letters.
+     */
+    public static int encode(String word) {
+        if (word.length() > MAX_INT_LENGTH) {
+            return 0;
+        }
+        return (int) encodeLong(word);
+    }
+
+    /**
+     * Packs a word of up to 12 letters into a long.
+     * @param word Lowercase word.
+     * @return The packed code, or 0 if word is empty, too long or not all
+     *       lowercase letters.
+     */
+    public static long encodeLong(String word) {
+        return encodeLong(word, 0, word.length());
+    }
+
+    /**
+     * Packs part of a piece of text, such as one word of a longer line,
+     * without copying it out first.
+     * @param text Text holding the word.
+     * @param start Position of the first letter.
+     * @param end Position just after the last letter.
+     * @return The packed code, or 0 if the range is empty, longer than 12
+     *       letters or not all lowercase letters.
+     */
+    public static long encodeLong(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length <= 0 || length > MAX_LONG_LENGTH) {
+            return 0;
+        }
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(start + i);
+            if (c < 'a' || c > 'z') {
+                return 0;
+            }
+            code |= (long) (c - 'a' + 1) << (LETTER_BITS * i);
+        }
+        return code;
+    }
+
+    /**
+     * Packs every word of a dictionary.
+     * @param dictionary Array of words of at most 6 letters.
+     * @return Array where element i is the code of dictionary[i].
+     */
+    public static int[] encodeAll(String[] dictionary) {
+        int[] codes = new int[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            codes[i] = encode(dictionary[i]);
+            if (codes[i] == 0) {
+                throw new IllegalArgumentException("Not a dictionary word: " + dictionary[i]);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Order-sensitive hash of a packed dictionary, used by saved files to
+     * check they were built from the same word list.
+     * @param codes Packed words.
+     * @return The checksum.
+     */
+    public static long checksum(int[] codes) {
+        long hash = 1125899906842597L;
+        for (int code : codes) {
+            hash = 31 * hash + code;
+        }
+        return hash;
+    }
+
+    /**
+     * Unpacks a word.
+     * @param code Packed word (an int code widens to the same long).
+     * @return The word as a String.
+     */
+    public static String decode(long code) {
+        char[] letters = new char[length(code)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = charAt(code, i);
+        }
+        return new String(letters);
+    }
+
+    /**
+     * How many letters are in a packed word?
+     * @param code Packed word.
+     * @return Number of letters.
+     */
+    public static int length(long code) {
+        int length = 0;
+        while (code != 0) {
+            code >>>= LETTER_BITS;
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Letter value at a position, 1 for 'a' through 26 for 'z'.
+     * @param code Packed word.
+     * @param position Index of the letter.
+     * @return Letter value, or 0 past the end of the word.
+     */
+    public static int letter(long code, int position) {
+        return (int) (code >>> (LETTER_BITS * position)) & LETTER_MASK;
+    }
+
+    /**
+     * Character at a position.
+     * @param code Packed word.
+     * @param position Index of the letter.
+     * @return The letter as a char.
+     */
+    public static char charAt(long code, int position) {
+        return (char) ('a' - 1 + letter(code, position));
+    }
+
+    /**
+     * Codes of the shared five letter word list (see WordleWordList), in order,
+     * built on first use. The array is shared, so don't modify it.
+     * @return Packed five letter dictionary.
+     */
+    public static int[] fiveLetterCodes() {
+        return FiveLetterHolder.CODES;
+    }
+
+    /** Lazily packs the five letter dictionary the first time it is asked for. */
+    private static class FiveLetterHolder {
+        static final int[] CODES = encodeAll(WordleWordList.fiveLetterWords());
+    }
+}
@@ -0,0 +1,228 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the solver's answer for candidate sets it has seen before.
+ *
+ * Games that open the same way reach the same sets of possible secrets
+ * over and over, and each time the solver would score the whole
+ * dictionary again. This cache maps a candidate set, as a bitset over the
+ * dictionary (see WordleConstraintIndex), to the best guess and how that
+ * guess splits the set.
+ *
+ * The cache is bounded by an estimate of the bytes its entries hold
+ * rather than by their number, since a key is as big as the dictionary's
+ * bitset. When it is full the least recently used entries go first.
+ * Keys are hashed once when they are made and compared in full, so a
+ * hash collision can't return the wrong answer.
+ *
+ * All methods are synchronized, so one cache can serve many threads.
+ */
+public class WordlePartitionCache {
+
+    /** Size limit used by the tools in this directory: 64 MB. */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    /** Bytes charged per entry besides its bitset: map node, key, value. */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Partition> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     * @param maxBytes Most memory the entries may take, roughly.
+     */
+    public WordlePartitionCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Looks up a candidate set, counting a hit or a miss.
+     * @param candidates Candidate set as a bitset over the dictionary.
+     * @return The stored answer, or null if there is none.
+     */
+    public synchronized Partition get(long[] candidates) {
+        Partition partition = entries.get(new Key(candidates, false));
+        if (partition == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return partition;
+    }
+
+    /**
+     * Stores the answer for a candidate set, evicting the least recently
+     * used entries if the cache gets too big.
+     * @param candidates Candidate set as a bitset; it is copied.
+     * @param partition The solver's answer for it.
+     */
+    public synchronized void put(long[] candidates, Partition partition) {
+        Key key = new Key(candidates, true);
+        if (entries.put(key, partition) == null) {
+            bytes += cost(key);
+        }
+        Iterator<Map.Entry<Key, Partition>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= cost(eldest.next().getKey());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /** Estimated bytes held by one entry. */
+    private static long cost(Key key) {
+        return ENTRY_OVERHEAD + 8L * key.bits.length;
+    }
+
+    /**
+     * Get the number of lookups that found an entry
+     * @return Hits so far
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of lookups that found nothing
+     * @return Misses so far
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Get the number of entries dropped to stay within the size limit
+     * @return Evictions so far
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Get the number of entries held
+     * @return Entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the estimated memory held by the entries
+     * @return Bytes, at most the limit given to the constructor
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Share of lookups that were hits.
+     * @return Hit rate from 0 to 1, or 0 before any lookup
+     */
+    public synchronized double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * One line summary of the cache.
+     * @return The summary
+     */
+    public synchronized String report() {
+        return String.format("partition cache: %d hits, %d misses (%.1f%% hits), %d entries,"
+                             + " %d KB, %d evictions",
+                             hits, misses, 100 * hitRate(), entries.size(), bytes / 1024,
+                             evictions);
+    }
+
+    /** A candidate bitset with its hash worked out once. */
+    private static class Key {
+        final long[] bits;
+        final int hash;
+
+        Key(long[] bits, boolean copy) {
+            this.bits = copy ? bits.clone() : bits;
+            long h = bits.length;
+            for (long word : bits) {
+                h = (h ^ word) * 0x9E3779B97F4A7C15L;
+                h ^= h >>> 29;
+            }
+            this.hash = (int) (h ^ (h >>> 32));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).hash == hash
+                && Arrays.equals(((Key) other).bits, bits);
+        }
+    }
+
+    /** The best guess for a candidate set and how it splits the set. */
+    public static class Partition {
+        private final int guess;
+        private final double entropy;
+        private final int buckets;
+        private final int largestBucket;
+
+        /**
+         * Creates a partition summary.
+         * @param guess Dictionary position of the best guess.
+         * @param entropy Expected information of the guess, in bits.
+         * @param buckets Number of different feedbacks it can get.
+         * @param largestBucket Most candidates that share one feedback.
+         */
+        public Partition(int guess, double entropy, int buckets, int largestBucket) {
+            this.guess = guess;
+            this.entropy = entropy;
+            this.buckets = buckets;
+            this.largestBucket = largestBucket;
+        }
+
+        /**
+         * Get the best guess
+         * @return Dictionary position of the guess
+         */
+        public int getGuess() {
+            return guess;
+        }
+
+        /**
+         * Get the expected information of the guess
+         * @return Entropy in bits
+         */
+        public double getEntropy() {
+            return entropy;
+        }
+
+        /**
+         * Get the number of different feedbacks the guess can get
+         * @return Nonempty buckets
+         */
+        public int getBuckets() {
+            return buckets;
+        }
+
+        /**
+         * Get the size of the biggest bucket, the worst case after the guess
+         * @return Candidates left in the worst case
+         */
+        public int getLargestBucket() {
+            return largestBucket;
+        }
+    }
+}
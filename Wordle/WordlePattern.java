@@ -0,0 +1,284 @@
+/**
+ * Guess feedback coded as a single base-3 number.
+ *
+ * Digit i of the code (weight 3^i) describes letter i of the guess:
+ * 0 for MISSING, 1 for PRESENT and 2 for CORRECT. A five letter result
+ * is a number from 0 to 242, where 242 means every letter is CORRECT.
+ *
+ * Computing a code does not allocate. The unmatched letters of the
+ * secret are counted in two longs, 4 bits per letter, instead of in
+ * char arrays.
+ */
+public class WordlePattern {
+
+    /** Longest word a pattern code can describe. */
+    public static final int MAX_LENGTH = 12;
+
+    /** Number of different five letter patterns. */
+    public static final int FIVE_LETTER_PATTERNS = 243;
+
+    /** Pattern code of a winning five letter guess. */
+    public static final int FIVE_LETTER_WIN = FIVE_LETTER_PATTERNS - 1;
+
+    /** Digit values for each kind of feedback. */
+    public static final int MISSING = 0;
+    public static final int PRESENT = 1;
+    public static final int CORRECT = 2;
+
+    /** Lowest bit of each of the five letter fields of a packed int. */
+    private static final int FIELD_LOW = 0x108421;
+
+    /** Powers of three, POW3[i] is the weight of letter i. */
+    private static final int[] POW3 = new int[MAX_LENGTH + 1];
+
+    static {
+        POW3[0] = 1;
+        for (int i = 1; i < POW3.length; i++) {
+            POW3[i] = POW3[i - 1] * 3;
+        }
+    }
+
+    /**
+     * How close is the guess to the secret word? Gives the same answer as
+     * Wordle.getGuessResult, coded as a number. Both words should be
+     * lowercase letters.
+     * @param word The secret word
+     * @param guess Guessed word, same length as word
+     * @return The pattern code
+     */
+    public static int of(String word, String guess) {
+        int length = word.length();
+        long low = 0;
+        long high = 0;
+        int pattern = 0;
+
+        // Score CORRECT letters and count the secret letters left over
+        for (int i = 0; i < length; i++) {
+            char w = word.charAt(i);
+            if (w == guess.charAt(i)) {
+                pattern += CORRECT * POW3[i];
+            } else if (w >= 'a' && w <= 'z') {
+                int letter = w - 'a';
+                if (letter < 16) {
+                    low += 1L << (letter << 2);
+                } else {
+                    high += 1L << ((letter - 16) << 2);
+                }
+            }
+        }
+
+        // Score PRESENT letters, using up one leftover letter each time
+        for (int i = 0; i < length; i++) {
+            char g = guess.charAt(i);
+            if (g != word.charAt(i) && g >= 'a' && g <= 'z') {
+                int letter = g - 'a';
+                if (letter < 16) {
+                    int shift = letter << 2;
+                    if (((low >>> shift) & 0xF) != 0) {
+                        low -= 1L << shift;
+                        pattern += PRESENT * POW3[i];
+                    }
+                } else {
+                    int shift = (letter - 16) << 2;
+                    if (((high >>> shift) & 0xF) != 0) {
+                        high -= 1L << shift;
+                        pattern += PRESENT * POW3[i];
+                    }
+                }
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * How close is the packed guess to the packed secret word?
+     * @param word The secret word, packed by WordlePacked
+     * @param guess Guessed word, packed the same way and the same length
+     * @return The pattern code
+     */
+    public static int of(long word, long guess) {
+        int length = WordlePacked.length(word);
+        long low = 0;
+        long high = 0;
+        int pattern = 0;
+
+        for (int i = 0; i < length; i++) {
+            int w = WordlePacked.letter(word, i);
+            if (w == WordlePacked.letter(guess, i)) {
+                pattern += CORRECT * POW3[i];
+            } else if (w <= 16) {
+                low += 1L << ((w - 1) << 2);
+            } else {
+                high += 1L << ((w - 17) << 2);
+            }
+        }
+
+        for (int i = 0; i < length; i++) {
+            int g = WordlePacked.letter(guess, i);
+            if (g != WordlePacked.letter(word, i)) {
+                if (g <= 16) {
+                    int shift = (g - 1) << 2;
+                    if (((low >>> shift) & 0xF) != 0) {
+                        low -= 1L << shift;
+                        pattern += PRESENT * POW3[i];
+                    }
+                } else {
+                    int shift = (g - 17) << 2;
+                    if (((high >>> shift) & 0xF) != 0) {
+                        high -= 1L << shift;
+                        pattern += PRESENT * POW3[i];
+                    }
+                }
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Scores one guess against many secrets, filling out[i] with the
+     * pattern code for secrets[i]. Gives the same codes as of().
+     * @param guess Guessed word, packed, at most five letters
+     * @param secrets Secret words, packed, same length as guess
+     * @param out Array for the codes (read them with & 0xFF)
+     */
+    public static void ofAll(int guess, int[] secrets, byte[] out) {
+        ofAll(guess, secrets, out, 0);
+    }
+
+    /**
+     * Scores one guess against many secrets, writing the codes for
+     * secrets[0..] to out[offset..].
+     *
+     * Everything that depends only on the guess is worked out once, and
+     * each secret is then scored with straight-line SIMD-within-a-register
+     * arithmetic on its packed int: XOR with the guess (or with one guess
+     * letter copied into every field) and OR-folding each 5-bit field
+     * down to its lowest bit flags the matching positions, and bit counts
+     * of those flags decide PRESENT. There are no per-letter branches or
+     * lookups, so the loop body is the same work for every secret.
+     * @param guess Guessed word, packed, at most five letters
+     * @param secrets Secret words, packed, same length as guess
+     * @param out Array for the codes (read them with & 0xFF)
+     * @param offset Where in out to write the code for secrets[0]
+     */
+    public static void ofAll(int guess, int[] secrets, byte[] out, int offset) {
+        int length = WordlePacked.length(guess);
+        if (length > 5) {
+            throw new IllegalArgumentException("Patterns of " + length + " letters don't fit a byte");
+        }
+        // Guess letter i copied into every field, and the flags of the
+        // earlier positions holding the same letter
+        int used = FIELD_LOW & ((1 << (WordlePacked.LETTER_BITS * length)) - 1);
+        int[] spread = new int[length];
+        int[] earlier = new int[length];
+        for (int i = 0; i < length; i++) {
+            int letter = WordlePacked.letter(guess, i);
+            spread[i] = letter * FIELD_LOW;
+            for (int k = 0; k < i; k++) {
+                if (WordlePacked.letter(guess, k) == letter) {
+                    earlier[i] |= 1 << (WordlePacked.LETTER_BITS * k);
+                }
+            }
+        }
+
+        for (int n = 0; n < secrets.length; n++) {
+            int secret = secrets[n];
+            int green = used & ~fold(secret ^ guess);
+            int open = used & ~green;
+            int pattern = 0;
+            for (int i = 0; i < length; i++) {
+                int isGreen = green >>> (WordlePacked.LETTER_BITS * i) & 1;
+                // Unmatched copies of this letter in the secret, and
+                // unmatched copies already claimed earlier in the guess
+                int available = Integer.bitCount(open & ~fold(secret ^ spread[i]));
+                int claimed = Integer.bitCount(open & earlier[i]);
+                int isYellow = (claimed - available) >>> 31 & (isGreen ^ 1);
+                pattern += (isGreen * CORRECT + isYellow * PRESENT) * POW3[i];
+            }
+            out[offset + n] = (byte) pattern;
+        }
+    }
+
+    /** Sets bit 5*i if any bit of field i is set, clearing the rest. */
+    private static int fold(int x) {
+        return (x | x >>> 1 | x >>> 2 | x >>> 3 | x >>> 4) & FIELD_LOW;
+    }
+
+    /**
+     * Feedback digit for one letter of a pattern.
+     * @param pattern The pattern code
+     * @param position Index of the letter
+     * @return MISSING, PRESENT or CORRECT
+     */
+    public static int digit(int pattern, int position) {
+        return pattern / POW3[position] % 3;
+    }
+
+    /**
+     * Converts a pattern code to the char form used by Wordle.getGuessResult.
+     * @param pattern The pattern code
+     * @param length Number of letters in the guess
+     * @return Array of Wordle.CORRECT, Wordle.PRESENT and Wordle.MISSING
+     */
+    public static char[] toChars(int pattern, int length) {
+        char[] result = new char[length];
+        toChars(pattern, result);
+        return result;
+    }
+
+    /**
+     * Converts a pattern code to char form, writing into an existing array.
+     * @param pattern The pattern code
+     * @param result Array to fill, one element per letter of the guess
+     */
+    public static void toChars(int pattern, char[] result) {
+        for (int i = 0; i < result.length; i++) {
+            int digit = pattern % 3;
+            pattern /= 3;
+            if (digit == CORRECT) {
+                result[i] = Wordle.CORRECT;
+            } else if (digit == PRESENT) {
+                result[i] = Wordle.PRESENT;
+            } else {
+                result[i] = Wordle.MISSING;
+            }
+        }
+    }
+
+    /**
+     * Converts the char form used by Wordle.getGuessResult to a pattern code.
+     * @param guessResult Array of Wordle.CORRECT, Wordle.PRESENT and Wordle.MISSING
+     * @return The pattern code
+     */
+    public static int fromChars(char[] guessResult) {
+        int pattern = 0;
+        for (int i = guessResult.length - 1; i >= 0; i--) {
+            pattern *= 3;
+            if (guessResult[i] == Wordle.CORRECT) {
+                pattern += CORRECT;
+            } else if (guessResult[i] == Wordle.PRESENT) {
+                pattern += PRESENT;
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Pattern code where every letter is CORRECT.
+     * @param length Number of letters in the guess
+     * @return The winning pattern code
+     */
+    public static int winning(int length) {
+        return POW3[length] - 1;
+    }
+
+    /**
+     * Is this a winning pattern?
+     * @param pattern The pattern code
+     * @param length Number of letters in the guess
+     * @return True if all places are CORRECT, false if not
+     */
+    public static boolean isWinning(int pattern, int length) {
+        return pattern == POW3[length] - 1;
+    }
+}
@@ -0,0 +1,220 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves Wordle games over a line-based protocol on a loopback socket.
+ *
+ * Each connection gets its own thread and plays one game at a time:
+ *   NEW [HARD]     starts a game, in hard  -> GAME guessesLeft
+ *                  mode if asked
+ *   GUESS word     plays a guess           -> RESULT feedback guessesLeft,
+ *                                             followed by WON secret or
+ *                                             LOST secret at the end
+ *                                          -> INVALID word
+ *                                          -> HARD reason, in hard mode
+ *                                             when a hint is ignored
+ *   STATS          server counters         -> STATS connections games
+ *   QUIT           closes the connection   -> BYE
+ * Anything else, or GUESS without a game, gets ERROR and a reason.
+ *
+ * Connections run on virtual threads when the JVM has them (Java 21+),
+ * so thousands of mostly idle players cost little; older JVMs fall back
+ * to a cached pool of platform threads.
+ */
+public class WordleServer implements AutoCloseable {
+
+    /** Port used by main when none is given. */
+    public static final int DEFAULT_PORT = 5152;
+
+    private final String[] words;
+    private final WordleIndex index;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicLong gamesStarted = new AtomicLong();
+
+    /**
+     * Opens the server socket on the loopback address.
+     * @param port Port to listen on, 0 for any free port
+     * @throws IOException If the port can't be bound
+     */
+    public WordleServer(int port) throws IOException {
+        this.words = WordleWordList.fiveLetterWords();
+        this.index = WordleIndex.fiveLetterIndex();
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        this.connections = newConnectionExecutor();
+    }
+
+    /**
+     * The port the server is listening on.
+     * @return The local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed. Runs on the
+     * calling thread.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                clients.add(socket);
+                try {
+                    connections.execute(() -> handle(socket));
+                } catch (RejectedExecutionException e) {
+                    // Accepted just as the server was closed
+                    clients.remove(socket);
+                    closeQuietly(socket);
+                }
+            } catch (SocketException e) {
+                // Closed while waiting in accept
+            } catch (IOException e) {
+                System.err.println("accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections, hangs up on every client and waits
+     * briefly for their threads to end. Closing the sockets is what wakes
+     * threads blocked reading from them; interrupts don't.
+     * @throws IOException If the server socket can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        for (Socket socket : clients) {
+            closeQuietly(socket);
+        }
+        try {
+            connections.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Talks to one client until it quits or hangs up. */
+    private void handle(Socket socket) {
+        openConnections.incrementAndGet();
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(
+                 new OutputStreamWriter(s.getOutputStream(), StandardCharsets.US_ASCII))) {
+            WordleSession session = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                String command = parts[0].toUpperCase();
+                if (command.equals("QUIT")) {
+                    out.write("BYE\n");
+                    out.flush();
+                    break;
+                } else if (command.equals("NEW")
+                           && (parts.length == 1 || parts.length == 2
+                               && parts[1].equalsIgnoreCase("HARD"))) {
+                    session = new WordleSession(Wordle.getRandomWord(words), index,
+                                                Wordle.NUMBER_OF_GUESSES, parts.length > 1);
+                    gamesStarted.incrementAndGet();
+                    out.write("GAME " + session.getGuessesLeft() + "\n");
+                } else if (command.equals("GUESS") && parts.length == 2) {
+                    reply(out, session, parts[1].toLowerCase());
+                } else if (command.equals("STATS")) {
+                    out.write("STATS " + openConnections.get() + " " + gamesStarted.get() + "\n");
+                } else {
+                    out.write("ERROR unknown command\n");
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away, nothing more to do
+        } finally {
+            clients.remove(socket);
+            openConnections.decrementAndGet();
+        }
+    }
+
+    /** Closes a client socket, ignoring errors. */
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing more to do for it
+        }
+    }
+
+    /** Plays a guess and writes the protocol response for it. */
+    private static void reply(Writer out, WordleSession session, String guess)
+            throws IOException {
+        if (session == null) {
+            out.write("ERROR no game, send NEW\n");
+            return;
+        }
+        WordleSession.Outcome outcome = session.guess(guess);
+        if (outcome == WordleSession.Outcome.OVER) {
+            out.write("ERROR game over, send NEW\n");
+        } else if (outcome == WordleSession.Outcome.INVALID) {
+            out.write("INVALID " + guess + "\n");
+        } else if (outcome == WordleSession.Outcome.HARD_MODE) {
+            out.write("HARD " + session.getHardMode().violation(guess) + "\n");
+        } else {
+            WordleTurn turn = session.getHistory().get(session.getHistory().size() - 1);
+            out.write("RESULT " + new String(turn.getGuessResult()) + " "
+                      + session.getGuessesLeft() + "\n");
+            if (outcome == WordleSession.Outcome.WON) {
+                out.write("WON " + session.getSecret() + "\n");
+            } else if (outcome == WordleSession.Outcome.LOST) {
+                out.write("LOST " + session.getSecret() + "\n");
+            }
+        }
+    }
+
+    /** One virtual thread per task if this JVM has them, else a cached pool. */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "wordle-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Runs the server until the process is stopped.
+     * @param args Optional port, DEFAULT_PORT if absent
+     * @throws IOException If the port can't be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        try (WordleServer server = new WordleServer(port)) {
+            System.out.println("Wordle server listening on localhost:" + server.getPort());
+            server.serve();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State of one Wordle game: the secret, how many guesses are left and
+ * the turns played so far. A session belongs to one player and is not
+ * meant to be shared between threads.
+ */
+public class WordleSession {
+
+    /** What happened to a guess. */
+    public enum Outcome {
+        /** The guess is not a known word and was not counted. */
+        INVALID,
+        /** In hard mode, the guess ignores a hint and was not counted. */
+        HARD_MODE,
+        /** The guess was scored and the game goes on. */
+        SCORED,
+        /** The guess was the secret. */
+        WON,
+        /** The guess was wrong and it was the last one. */
+        LOST,
+        /** The game had already ended. */
+        OVER
+    }
+
+    private final String secret;
+    private final WordleIndex index;
+    private final List<WordleTurn> history;
+    private final WordleHardMode hardMode;
+    private int guessesLeft;
+    private boolean won;
+
+    /**
+     * Starts a game.
+     * @param secret The secret word
+     * @param index Words the player may guess
+     * @param guesses Number of guesses allowed
+     */
+    public WordleSession(String secret, WordleIndex index, int guesses) {
+        this(secret, index, guesses, false);
+    }
+
+    /**
+     * Starts a game, optionally in hard mode.
+     * @param secret The secret word
+     * @param index Words the player may guess
+     * @param guesses Number of guesses allowed
+     * @param hard True if every guess must use the hints so far
+     */
+    public WordleSession(String secret, WordleIndex index, int guesses, boolean hard) {
+        this.secret = secret;
+        this.index = index;
+        this.history = new ArrayList<>();
+        this.hardMode = hard ? new WordleHardMode(secret.length()) : null;
+        this.guessesLeft = guesses;
+    }
+
+    /**
+     * Plays one guess.
+     * @param guess The guessed word, lowercase
+     * @return What happened; for anything but INVALID and OVER the new
+     *       turn is the last element of getHistory
+     */
+    public Outcome guess(String guess) {
+        if (isOver()) {
+            return Outcome.OVER;
+        }
+        if (!Wordle.isValidWord(index, guess)) {
+            return Outcome.INVALID;
+        }
+        if (hardMode != null && !hardMode.allows(guess)) {
+            return Outcome.HARD_MODE;
+        }
+        WordleTurn turn = new WordleTurn(guess, Wordle.getGuessPattern(secret, guess));
+        history.add(turn);
+        if (hardMode != null) {
+            hardMode.add(turn);
+        }
+        guessesLeft--;
+        if (turn.isWinning()) {
+            won = true;
+            return Outcome.WON;
+        }
+        return guessesLeft == 0 ? Outcome.LOST : Outcome.SCORED;
+    }
+
+    /**
+     * Has the game ended?
+     * @return True if the secret was found or no guesses are left
+     */
+    public boolean isOver() {
+        return won || guessesLeft == 0;
+    }
+
+    /**
+     * Get the secret word
+     * @return The secret
+     */
+    public String getSecret() {
+        return secret;
+    }
+
+    /**
+     * Get the number of guesses left
+     * @return Guesses left
+     */
+    public int getGuessesLeft() {
+        return guessesLeft;
+    }
+
+    /**
+     * Get the hard mode rules of this game
+     * @return The rules as of now, or null if the game isn't in hard mode
+     */
+    public WordleHardMode getHardMode() {
+        return hardMode;
+    }
+
+    /**
+     * Get the turns played so far
+     * @return Read-only list of turns, oldest first
+     */
+    public List<WordleTurn> getHistory() {
+        return Collections.unmodifiableList(history);
+    }
+}
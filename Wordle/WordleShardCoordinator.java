@@ -0,0 +1,411 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Benchmarks the solver over the shared five letter words using several
+ * worker processes (see WordleShardWorker), for runs too big for one JVM
+ * such as trying every opening guess against every secret.
+ *
+ * The work is cut into shards of one opener and a range of secrets. Each
+ * worker process is driven by a thread of the coordinator over its
+ * standard input and output, taking the next shard from a shared queue.
+ * When a worker dies its shard goes back on the queue and a new process
+ * is started; a shard that kills MAX_ATTEMPTS workers fails the run.
+ *
+ * Finished shards can be appended to a journal file as they come in.
+ * Running again with the same journal skips the shards it lists, so a
+ * run that was stopped or crashed picks up where it left off. The
+ * journal starts with the word count and checksum of the word list and
+ * is refused if they don't match.
+ */
+public class WordleShardCoordinator {
+
+    /** Secrets per shard used by main. */
+    public static final int DEFAULT_SHARD_SIZE = 64;
+
+    /** Workers a single shard may take down before the run gives up. */
+    private static final int MAX_ATTEMPTS = 3;
+
+    /** How often idle driver threads look for a finished run. */
+    private static final long POLL_MILLIS = 50;
+
+    private final List<String> workerCommand;
+    private final int workers;
+    private final String[] words;
+    private final String wordListId;
+
+    /**
+     * Creates a coordinator.
+     * @param workerCommand Command line that starts one worker process.
+     * @param workers Number of worker processes to run at once.
+     */
+    public WordleShardCoordinator(List<String> workerCommand, int workers) {
+        this.workerCommand = new ArrayList<>(workerCommand);
+        this.workers = workers;
+        this.words = WordleWordList.fiveLetterWords();
+        this.wordListId = words.length + " " + WordlePacked.checksum(WordlePacked.fiveLetterCodes());
+    }
+
+    /**
+     * Command line that starts a WordleShardWorker with the same java,
+     * class path and word list as this JVM.
+     * @param workerArgs Extra arguments for the worker.
+     * @return The command.
+     */
+    public static List<String> defaultWorkerCommand(String... workerArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        String wordFile = System.getProperty(WordleWordList.WORDS_PROPERTY);
+        if (wordFile != null) {
+            command.add("-D" + WordleWordList.WORDS_PROPERTY + "=" + wordFile);
+        }
+        command.add(WordleShardWorker.class.getName());
+        command.addAll(Arrays.asList(workerArgs));
+        return command;
+    }
+
+    /**
+     * Plays the first secrets of the word list once for each opener.
+     * @param openers First guesses to try, or WordleShardWorker.NO_OPENER
+     *       to let the solver choose.
+     * @param secrets Number of secrets, taken from the start of the list.
+     * @param shardSize Secrets per shard.
+     * @param journal File to record finished shards in and resume from,
+     *       or null for none.
+     * @return Results per opener, in the order given. The elapsed time of
+     *       each is the wall clock time of the whole run.
+     * @throws IOException If the journal can't be used, a worker reports
+     *       an error, or a shard keeps crashing workers.
+     */
+    public Map<String, WordleSolverBenchmark> run(List<String> openers, int secrets, int shardSize,
+                                                  Path journal) throws IOException {
+        if (secrets < 0 || secrets > words.length || shardSize <= 0) {
+            throw new IllegalArgumentException("Bad secret count or shard size");
+        }
+        long start = System.nanoTime();
+        Run run = new Run(openers, secrets);
+        Set<String> done = journal == null ? new HashSet<>() : run.resume(journal);
+        for (String opener : openers) {
+            for (int from = 0; from < secrets; from += shardSize) {
+                Shard shard = new Shard(opener, from, Math.min(from + shardSize, secrets));
+                if (!done.contains(shard.key())) {
+                    run.pending.add(shard);
+                }
+            }
+        }
+        run.remaining.set(run.pending.size());
+
+        ExecutorService drivers = Executors.newFixedThreadPool(workers);
+        try {
+            for (int w = 0; w < workers; w++) {
+                drivers.execute(() -> drive(run));
+            }
+            drivers.shutdown();
+            drivers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(new IOException("Interrupted while waiting for workers", e));
+            drivers.shutdownNow();
+        } finally {
+            run.closeJournal();
+        }
+        if (run.error.get() != null) {
+            throw run.error.get();
+        }
+        if (run.remaining.get() != 0) {
+            throw new IOException(run.remaining.get() + " shards were not finished");
+        }
+
+        long elapsed = System.nanoTime() - start;
+        Map<String, WordleSolverBenchmark> results = new LinkedHashMap<>();
+        for (String opener : openers) {
+            results.put(opener, WordleSolverBenchmark.of(run.guesses.get(opener), elapsed));
+        }
+        return results;
+    }
+
+    /** Keeps one worker process busy until the run is over. */
+    private void drive(Run run) {
+        Process process = null;
+        BufferedReader from = null;
+        Writer to = null;
+        try {
+            while (run.remaining.get() > 0 && run.error.get() == null) {
+                Shard shard = run.pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (shard == null) {
+                    continue;
+                }
+                String reply;
+                try {
+                    if (process == null) {
+                        process = new ProcessBuilder(workerCommand)
+                            .redirectError(ProcessBuilder.Redirect.INHERIT)
+                            .start();
+                        from = new BufferedReader(new InputStreamReader(
+                            process.getInputStream(), StandardCharsets.US_ASCII));
+                        to = new BufferedWriter(new OutputStreamWriter(
+                            process.getOutputStream(), StandardCharsets.US_ASCII));
+                        String ready = from.readLine();
+                        if (ready != null && !ready.equals("READY " + wordListId)) {
+                            run.fail(new IOException("Worker has a different word list: " + ready));
+                            return;
+                        }
+                    }
+                    to.write("PLAY " + shard.key() + "\n");
+                    to.flush();
+                    reply = from.readLine();
+                } catch (IOException e) {
+                    reply = null; // a broken pipe means the worker is gone
+                }
+
+                if (reply == null) {
+                    stop(process);
+                    process = null;
+                    if (++shard.attempts >= MAX_ATTEMPTS) {
+                        run.fail(new IOException("Shard " + shard.key() + " crashed "
+                                                 + MAX_ATTEMPTS + " workers"));
+                        return;
+                    }
+                    run.pending.add(shard);
+                } else if (!reply.startsWith("DONE ")) {
+                    run.fail(new IOException("Worker failed shard " + shard.key() + ": " + reply));
+                    return;
+                } else {
+                    run.complete(shard, reply);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Stop the other drivers too rather than leave them waiting for this shard
+            run.fail(new IOException("Driver failed: " + e, e));
+        } finally {
+            if (process != null) {
+                try {
+                    to.write("QUIT\n");
+                    to.flush();
+                } catch (IOException e) {
+                    // Already gone
+                }
+                stop(process);
+            }
+        }
+    }
+
+    /** Waits briefly for a worker to exit, then kills it. */
+    private static void stop(Process process) {
+        if (process == null) {
+            return;
+        }
+        try {
+            if (!process.waitFor(1, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** One opener and a range of secrets. */
+    private static class Shard {
+        final String opener;
+        final int from;
+        final int to;
+        int attempts;
+
+        Shard(String opener, int from, int to) {
+            this.opener = opener;
+            this.from = from;
+            this.to = to;
+        }
+
+        /** "opener from to", as in PLAY and DONE lines. */
+        String key() {
+            return opener + " " + from + " " + to;
+        }
+    }
+
+    /** State shared by the driver threads of one run. */
+    private class Run {
+        final Map<String, int[]> guesses = new LinkedHashMap<>();
+        final BlockingQueue<Shard> pending = new LinkedBlockingQueue<>();
+        final AtomicInteger remaining = new AtomicInteger();
+        final AtomicReference<IOException> error = new AtomicReference<>();
+        private Writer journal;
+
+        Run(List<String> openers, int secrets) {
+            for (String opener : openers) {
+                guesses.put(opener, new int[secrets]);
+            }
+        }
+
+        /**
+         * Reads the shards an earlier run finished and opens the journal
+         * for appending.
+         * @return Keys of the shards already done.
+         */
+        Set<String> resume(Path file) throws IOException {
+            Set<String> done = new HashSet<>();
+            boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+            if (!fresh) {
+                List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+                if (!lines.get(0).equals("WORDS " + wordListId)) {
+                    throw new IOException(file + " is a journal for a different word list");
+                }
+                for (String line : lines.subList(1, lines.size())) {
+                    String[] parts = line.split(" ");
+                    // A line cut short by a crash is ignored and redone
+                    if (parts.length >= 5 && guesses.containsKey(parts[1])
+                            && record(line, parts)) {
+                        done.add(parts[1] + " " + parts[2] + " " + parts[3]);
+                    }
+                }
+            }
+            boolean cutShort = !fresh && !endsWithNewline(file);
+            journal = Files.newBufferedWriter(file, StandardCharsets.US_ASCII,
+                                              StandardOpenOption.CREATE,
+                                              StandardOpenOption.APPEND);
+            if (fresh) {
+                journal.write("WORDS " + wordListId + "\n");
+                journal.flush();
+            } else if (cutShort) {
+                // End the cut short line so the next one isn't glued onto it
+                journal.write('\n');
+                journal.flush();
+            }
+            return done;
+        }
+
+        /** Is the last byte of a nonempty file a newline? */
+        private boolean endsWithNewline(Path file) throws IOException {
+            try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+                ByteBuffer last = ByteBuffer.allocate(1);
+                channel.position(channel.size() - 1).read(last);
+                return last.get(0) == '\n';
+            }
+        }
+
+        /** Stores a DONE line's guess counts; false if it doesn't fit this run. */
+        private boolean record(String line, String[] parts) {
+            try {
+                int[] counts = guesses.get(parts[1]);
+                int from = Integer.parseInt(parts[2]);
+                int to = Integer.parseInt(parts[3]);
+                if (from < 0 || to > counts.length || parts.length != 5 + to - from) {
+                    return false;
+                }
+                for (int i = from; i < to; i++) {
+                    counts[i] = Integer.parseInt(parts[5 + i - from]);
+                }
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        /** Takes in a worker's DONE line for a shard. */
+        synchronized void complete(Shard shard, String reply) {
+            String[] parts = reply.split(" ");
+            if (parts.length < 5 || !(parts[1] + " " + parts[2] + " " + parts[3]).equals(shard.key())
+                    || !record(reply, parts)) {
+                fail(new IOException("Bad reply for shard " + shard.key() + ": " + reply));
+                return;
+            }
+            if (journal != null) {
+                try {
+                    journal.write(reply);
+                    journal.write('\n');
+                    journal.flush();
+                } catch (IOException e) {
+                    fail(e);
+                    return;
+                }
+            }
+            remaining.decrementAndGet();
+        }
+
+        void fail(IOException e) {
+            error.compareAndSet(null, e);
+        }
+
+        void closeJournal() {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a sharded benchmark over the shared five letter words.
+     * @param args Number of workers (all cores if absent), then a journal
+     *       file ("-" for none), then the openers to try: words, "-" for the
+     *       solver's own choice (the default), or ALL for every word
+     * @throws IOException If the run fails
+     */
+    public static void main(String[] args) throws IOException {
+        int workers = args.length > 0
+            ? Integer.parseInt(args[0])
+            : Runtime.getRuntime().availableProcessors();
+        Path journal = args.length > 1 && !args[1].equals("-") ? Paths.get(args[1]) : null;
+        List<String> openers = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("ALL")) {
+                openers.addAll(Arrays.asList(WordleWordList.fiveLetterWords()));
+            } else {
+                openers.add(args[i]);
+            }
+        }
+        if (openers.isEmpty()) {
+            openers.add(WordleShardWorker.NO_OPENER);
+        }
+
+        WordleShardCoordinator coordinator =
+            new WordleShardCoordinator(defaultWorkerCommand(), workers);
+        Map<String, WordleSolverBenchmark> results = coordinator.run(
+            openers, WordleWordList.fiveLetterWords().length, DEFAULT_SHARD_SIZE, journal);
+        if (results.size() == 1) {
+            System.out.print(results.values().iterator().next().report());
+            return;
+        }
+        List<Map.Entry<String, WordleSolverBenchmark>> ranked = new ArrayList<>(results.entrySet());
+        ranked.sort((a, b) -> Double.compare(a.getValue().averageGuesses(),
+                                             b.getValue().averageGuesses()));
+        for (Map.Entry<String, WordleSolverBenchmark> entry : ranked) {
+            WordleSolverBenchmark result = entry.getValue();
+            System.out.printf("%s average %.4f worst %d failures %d%n", entry.getKey(),
+                              result.averageGuesses(), result.worstCase(), result.failures());
+        }
+    }
+}
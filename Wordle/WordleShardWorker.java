@@ -0,0 +1,130 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Worker process for WordleShardCoordinator: plays the shards of games it
+ * is handed and sends back the results, over its standard input and
+ * output.
+ *
+ * Protocol, one line each way:
+ *   at start                           -> READY wordCount checksum
+ *   PLAY opener from to                -> DONE opener from to nanos g1 ... gn
+ *                                      -> ERROR reason
+ *   QUIT                               exits
+ * The secrets of a shard are the shared five letter words at positions
+ * from (inclusive) to to (exclusive), played with WordleSolver. The
+ * opener is the first guess of every game, or NO_OPENER to let the
+ * solver choose. g1 ... gn are guess counts as WordleSolverBenchmark.play
+ * gives them, and nanos is the time the shard took.
+ */
+public class WordleShardWorker {
+
+    /** Opener in PLAY and DONE lines meaning the solver picks the first guess. */
+    public static final String NO_OPENER = "-";
+
+    private final String[] words;
+    private final WordleIndex index;
+    private final WordleSolver solver;
+
+    /**
+     * Creates a worker over the shared five letter word list.
+     */
+    public WordleShardWorker() {
+        this.words = WordleWordList.fiveLetterWords();
+        this.index = WordleIndex.fiveLetterIndex();
+        this.solver = new WordleSolver(words, null, false,
+                                       new WordlePartitionCache(WordlePartitionCache.DEFAULT_MAX_BYTES));
+    }
+
+    /**
+     * Answers requests until QUIT, the end of the input, or a set number
+     * of shards.
+     * @param in Requests from the coordinator
+     * @param out Replies, flushed after each one
+     * @param maxShards Shards to play before exiting, for testing crash
+     *       recovery; 0 for no limit
+     * @throws IOException If the coordinator can't be reached
+     */
+    public void serve(Reader in, Writer out, int maxShards) throws IOException {
+        BufferedReader requests = new BufferedReader(in);
+        out.write("READY " + words.length + " "
+                  + WordlePacked.checksum(WordlePacked.fiveLetterCodes()) + "\n");
+        out.flush();
+        int shards = 0;
+        String line;
+        while ((line = requests.readLine()) != null) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts[0].equals("QUIT")) {
+                return;
+            }
+            if (!parts[0].equals("PLAY") || parts.length != 4) {
+                out.write("ERROR unknown request " + line + "\n");
+            } else {
+                out.write(play(parts[1], parts[2], parts[3]));
+            }
+            out.flush();
+            if (++shards == maxShards) {
+                return;
+            }
+        }
+    }
+
+    /** Plays one shard, giving the DONE or ERROR line. */
+    private String play(String opener, String fromText, String toText) {
+        int from;
+        int to;
+        try {
+            from = Integer.parseInt(fromText);
+            to = Integer.parseInt(toText);
+        } catch (NumberFormatException e) {
+            return "ERROR bad range " + fromText + " " + toText + "\n";
+        }
+        if (from < 0 || to > words.length || from > to) {
+            return "ERROR bad range " + fromText + " " + toText + "\n";
+        }
+        if (!opener.equals(NO_OPENER) && index.indexOf(opener) < 0) {
+            return "ERROR unknown opener " + opener + "\n";
+        }
+        WordleStrategy strategy = opener.equals(NO_OPENER)
+            ? solver
+            : history -> history.isEmpty() ? opener : solver.nextGuess(history);
+
+        long start = System.nanoTime();
+        int[] guesses = new int[to - from];
+        for (int i = 0; i < guesses.length; i++) {
+            guesses[i] = WordleSolverBenchmark.play(strategy, words[from + i]);
+        }
+        StringBuilder done = new StringBuilder("DONE ");
+        done.append(opener).append(' ').append(from).append(' ').append(to)
+            .append(' ').append(System.nanoTime() - start);
+        for (int g : guesses) {
+            done.append(' ').append(g);
+        }
+        return done.append('\n').toString();
+    }
+
+    /**
+     * Runs a worker on standard input and output.
+     * @param args Optionally --exit-after and a number of shards, to make
+     *       the worker quit early as if it had crashed
+     * @throws IOException If standard input or output fails
+     */
+    public static void main(String[] args) throws IOException {
+        int maxShards = args.length > 1 && args[0].equals("--exit-after")
+            ? Integer.parseInt(args[1])
+            : 0;
+        Reader in = new InputStreamReader(System.in, StandardCharsets.US_ASCII);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII));
+        new WordleShardWorker().serve(in, out, maxShards);
+        if (maxShards > 0) {
+            // Leave without a goodbye, like a crashed process would
+            System.exit(3);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Picks Wordle guesses by expected information.
+ *
+ * For each possible guess the remaining secrets are split into buckets by
+ * the feedback they would give; the guess whose buckets have the highest
+ * entropy tells us the most on average. Guesses that are bound to split
+ * the secrets the same way are scored only once (see WordleGuessClasses).
+ * Guesses are scored in parallel on a fork/join pool, each leaf task
+ * covering a block of them. In hard mode only the guesses that use every
+ * hint so far are scored (see WordleHardMode). With a
+ * WordlePartitionCache, answers for candidate sets seen before are looked
+ * up instead of scored again.
+ *
+ * A solver holds no per-game state, so one instance can serve many games
+ * on many threads at once.
+ */
+public class WordleSolver implements WordleStrategy {
+
+    /** Guesses scored by one leaf task before it stops splitting. */
+    private static final int GUESSES_PER_TASK = 64;
+
+    private final String[] dictionary;
+    private final int[] codes;
+    private final WordleFeedbackMatrix matrix;
+    private final WordleConstraintIndex constraints;
+    private final ForkJoinPool pool;
+    private final int wordLength;
+    private final int patternCount;
+    private final boolean hardMode;
+    private final WordlePartitionCache cache;
+
+    /** c * log2(c) for every bucket size c that can occur. */
+    private final double[] bucketCost;
+
+    /** Best first guess, worked out on first use. */
+    private volatile int openingGuess = -1;
+
+    /**
+     * Creates a solver that computes feedback as it goes.
+     * @param dictionary Words that can be guessed and can be the secret,
+     *       all the same length (at most six letters).
+     */
+    public WordleSolver(String[] dictionary) {
+        this(dictionary, null);
+    }
+
+    /**
+     * Creates a solver that reads feedback from a precomputed matrix.
+     * @param dictionary Words that can be guessed and can be the secret.
+     * @param matrix Feedback matrix built from the same dictionary, or null.
+     */
+    public WordleSolver(String[] dictionary, WordleFeedbackMatrix matrix) {
+        this(dictionary, matrix, false);
+    }
+
+    /**
+     * Creates a solver, optionally for hard mode.
+     * @param dictionary Words that can be guessed and can be the secret.
+     * @param matrix Feedback matrix built from the same dictionary, or null.
+     * @param hardMode True to only guess words that use every hint so far.
+     */
+    public WordleSolver(String[] dictionary, WordleFeedbackMatrix matrix, boolean hardMode) {
+        this(dictionary, matrix, hardMode, null);
+    }
+
+    /**
+     * Creates a solver that remembers its answers.
+     * @param dictionary Words that can be guessed and can be the secret.
+     * @param matrix Feedback matrix built from the same dictionary, or null.
+     * @param hardMode True to only guess words that use every hint so far.
+     * @param cache Cache for answers by candidate set, or null for none.
+     *       Share it only between solvers over the same dictionary. Hard
+     *       mode guesses depend on more than the candidates, so they are
+     *       never cached.
+     */
+    public WordleSolver(String[] dictionary, WordleFeedbackMatrix matrix, boolean hardMode,
+                        WordlePartitionCache cache) {
+        if (dictionary.length == 0) {
+            throw new IllegalArgumentException("Empty dictionary");
+        }
+        if (matrix != null && matrix.size() != dictionary.length) {
+            throw new IllegalArgumentException("Matrix does not match the dictionary");
+        }
+        this.dictionary = dictionary;
+        this.codes = WordlePacked.encodeAll(dictionary);
+        this.matrix = matrix;
+        this.pool = ForkJoinPool.commonPool();
+        this.wordLength = dictionary[0].length();
+        for (String word : dictionary) {
+            if (word.length() != wordLength) {
+                throw new IllegalArgumentException("Words differ in length: " + word);
+            }
+        }
+        this.patternCount = WordlePattern.winning(wordLength) + 1;
+        this.hardMode = hardMode;
+        this.cache = cache;
+        this.constraints = dictionary == WordleWordList.fiveLetterWords()
+            ? WordleConstraintIndex.fiveLetterIndex()
+            : new WordleConstraintIndex(dictionary);
+
+        bucketCost = new double[dictionary.length + 1];
+        for (int c = 2; c < bucketCost.length; c++) {
+            bucketCost[c] = c * Math.log(c) / Math.log(2);
+        }
+    }
+
+    /**
+     * Chooses the next guess for a game in progress.
+     * @param history Turns played so far, oldest first.
+     * @return The word to guess next.
+     * @throws IllegalStateException If no word in the dictionary fits the history.
+     */
+    @Override
+    public String nextGuess(List<WordleTurn> history) {
+        long[] candidateSet = candidateSet(history);
+        int[] candidates = WordleConstraintIndex.toPositions(candidateSet);
+        if (candidates.length == 0) {
+            throw new IllegalStateException("No word fits the feedback so far");
+        }
+        if (hardMode && !history.isEmpty() && candidates.length > 2) {
+            return dictionary[scoreAll(new int[][] {candidates}, allowedGuesses(history)).guess];
+        }
+        if (cache == null || candidates.length <= 2) {
+            return dictionary[bestGuess(candidates)];
+        }
+        WordlePartitionCache.Partition partition = cache.get(candidateSet);
+        if (partition == null) {
+            partition = partition(candidates);
+            cache.put(candidateSet, partition);
+        }
+        return dictionary[partition.getGuess()];
+    }
+
+    /**
+     * The best guess for a set of possible secrets and how it splits them.
+     * @param candidates Dictionary positions of the possible secrets.
+     * @return The guess chosen by bestGuess and its bucket statistics.
+     */
+    public WordlePartitionCache.Partition partition(int[] candidates) {
+        int guess = bestGuess(candidates);
+        int[] counts = new int[patternCount];
+        for (int candidate : candidates) {
+            counts[pattern(guess, candidate)]++;
+        }
+        int buckets = 0;
+        int largest = 0;
+        for (int count : counts) {
+            buckets += count > 0 ? 1 : 0;
+            largest = Math.max(largest, count);
+        }
+        return new WordlePartitionCache.Partition(guess, entropy(guess, candidates, counts),
+                                                  buckets, largest);
+    }
+
+    /**
+     * Which dictionary words may be guessed in hard mode after some turns?
+     * Every word that could still be the secret is among them.
+     * @param history Turns played so far.
+     * @return Array where element i is true if dictionary[i] uses every hint.
+     */
+    public boolean[] allowedGuesses(List<WordleTurn> history) {
+        WordleHardMode rules = WordleHardMode.of(wordLength, history);
+        boolean[] allowed = new boolean[dictionary.length];
+        for (int i = 0; i < allowed.length; i++) {
+            allowed[i] = rules.allows(codes[i]);
+        }
+        return allowed;
+    }
+
+    /**
+     * Which dictionary words could still be the secret?
+     * @param history Turns played so far.
+     * @return Dictionary positions of the words that fit every turn, in order.
+     */
+    public int[] remainingCandidates(List<WordleTurn> history) {
+        return WordleConstraintIndex.toPositions(candidateSet(history));
+    }
+
+    /**
+     * Which dictionary words could still be the secret, as a bitset over
+     * the dictionary (see WordleConstraintIndex)?
+     * @param history Turns played so far.
+     * @return Candidate set of the words that fit every turn.
+     */
+    public long[] candidateSet(List<WordleTurn> history) {
+        long[] candidates = constraints.all();
+        for (WordleTurn turn : history) {
+            constraints.apply(candidates, turn);
+        }
+        return candidates;
+    }
+
+    /**
+     * Chooses the most informative guess against a set of possible secrets.
+     * Ties go to a guess that could itself be the secret, then to the
+     * earliest word in the dictionary, so results are repeatable.
+     * @param candidates Dictionary positions of the possible secrets.
+     * @return Dictionary position of the best guess.
+     */
+    public int bestGuess(int[] candidates) {
+        if (candidates.length <= 2) {
+            return candidates[0];
+        }
+        if (candidates.length == dictionary.length) {
+            if (openingGuess < 0) {
+                openingGuess = scoreAll(new int[][] {candidates}, null).guess;
+            }
+            return openingGuess;
+        }
+        return scoreAll(new int[][] {candidates}, null).guess;
+    }
+
+    /**
+     * Chooses the guess with the most expected information summed over
+     * several independent sets of possible secrets, as in a multi-board
+     * game. Ties are broken as in bestGuess.
+     * @param candidateSets Dictionary positions of the possible secrets,
+     *       one array per board; none may be empty.
+     * @return Dictionary position of the best guess.
+     */
+    public int bestGuess(int[][] candidateSets) {
+        boolean allFull = true;
+        for (int[] candidates : candidateSets) {
+            allFull &= candidates.length == dictionary.length;
+        }
+        if (candidateSets.length == 1 || allFull) {
+            // Identical sets rank guesses the same as one set does
+            return bestGuess(candidateSets[0]);
+        }
+        return scoreAll(candidateSets, null).guess;
+    }
+
+    /**
+     * Expected information of a guess, in bits.
+     * @param guess Dictionary position of the guess.
+     * @param candidates Dictionary positions of the possible secrets.
+     * @return Entropy of the feedback the guess would get.
+     */
+    public double entropy(int guess, int[] candidates) {
+        return entropy(guess, candidates, new int[patternCount]);
+    }
+
+    /**
+     * Does this solver play by the hard mode rules?
+     * @return True if it only guesses words that use every hint
+     */
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
+    /**
+     * Get the dictionary this solver guesses from
+     * @return The dictionary
+     */
+    public String[] getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Feedback for a guess against a secret.
+     * @param guess Dictionary position of the guess.
+     * @param secret Dictionary position of the secret.
+     * @return The WordlePattern code.
+     */
+    public int pattern(int guess, int secret) {
+        if (matrix != null) {
+            return matrix.get(guess, secret);
+        }
+        return WordlePattern.of(codes[secret], codes[guess]);
+    }
+
+    /**
+     * Scores the dictionary, or the allowed words of it if allowed isn't
+     * null, against the candidate sets on the pool, one guess from each
+     * group of guesses that give the same buckets.
+     */
+    private Score scoreAll(int[][] candidateSets, boolean[] allowed) {
+        boolean[] isCandidate = new boolean[dictionary.length];
+        int letters = 0;
+        for (int[] candidates : candidateSets) {
+            for (int candidate : candidates) {
+                isCandidate[candidate] = true;
+                letters |= WordleGuessClasses.letterMask(codes[candidate]);
+            }
+        }
+        int[] guesses = WordleGuessClasses.representatives(codes, letters, isCandidate, allowed);
+        int count = guesses == null ? dictionary.length : guesses.length;
+        return pool.invoke(new ScoreTask(candidateSets, isCandidate, guesses, 0, count));
+    }
+
+    /** Entropy of one guess, reusing counts as scratch space. */
+    private double entropy(int guess, int[] candidates, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (int candidate : candidates) {
+            counts[pattern(guess, candidate)]++;
+        }
+        double cost = 0;
+        for (int count : counts) {
+            cost += bucketCost[count];
+        }
+        int n = candidates.length;
+        return (bucketCost[n] - cost) / n;
+    }
+
+    /** Best guess found so far and its entropy. */
+    private static class Score {
+        final int guess;
+        final double entropy;
+        final boolean candidate;
+
+        Score(int guess, double entropy, boolean candidate) {
+            this.guess = guess;
+            this.entropy = entropy;
+            this.candidate = candidate;
+        }
+
+        /** Is this score better than other, using the tie rules of bestGuess? */
+        boolean beats(Score other) {
+            if (other == null) {
+                return true;
+            }
+            if (entropy != other.entropy) {
+                return entropy > other.entropy;
+            }
+            if (candidate != other.candidate) {
+                return candidate;
+            }
+            return guess < other.guess;
+        }
+    }
+
+    /**
+     * Scores guesses[from] to guesses[to - 1] (dictionary positions from
+     * to to - 1 if guesses is null), splitting large ranges in two.
+     */
+    private class ScoreTask extends RecursiveTask<Score> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[][] candidateSets;
+        private final boolean[] isCandidate;
+        private final int[] guesses;
+        private final int from;
+        private final int to;
+
+        ScoreTask(int[][] candidateSets, boolean[] isCandidate, int[] guesses, int from, int to) {
+            this.candidateSets = candidateSets;
+            this.isCandidate = isCandidate;
+            this.guesses = guesses;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Score compute() {
+            if (to - from > GUESSES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                ScoreTask left = new ScoreTask(candidateSets, isCandidate, guesses, from, middle);
+                left.fork();
+                Score right = new ScoreTask(candidateSets, isCandidate, guesses, middle, to).compute();
+                Score best = left.join();
+                return right.beats(best) ? right : best;
+            }
+            int[] counts = new int[patternCount];
+            Score best = null;
+            for (int i = from; i < to; i++) {
+                int guess = guesses == null ? i : guesses[i];
+                double entropy = 0;
+                for (int[] candidates : candidateSets) {
+                    entropy += entropy(guess, candidates, counts);
+                }
+                Score score = new Score(guess, entropy, isCandidate[guess]);
+                if (score.beats(best)) {
+                    best = score;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Shows the solver playing against a secret word.
+     * @param args The secret word, random if absent
+     */
+    public static void main(String[] args) {
+        String[] words = WordleWordList.fiveLetterWords();
+        String secret = args.length > 0 ? args[0] : Wordle.getRandomWord(words);
+        WordleSolver solver = new WordleSolver(words);
+        List<WordleTurn> history = new ArrayList<>();
+        WordleTurn turn;
+        do {
+            String guess = solver.nextGuess(history);
+            turn = new WordleTurn(guess, Wordle.getGuessPattern(secret, guess));
+            history.add(turn);
+            System.out.println(turn);
+        } while (!turn.isWinning());
+        System.out.println("Solved " + secret + " in " + history.size() + " guesses");
+    }
+}
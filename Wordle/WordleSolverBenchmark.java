@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Plays a strategy against every secret word and reports how it did.
+ *
+ * Games run in parallel across cores, but each game's outcome is stored
+ * by secret and only summed up once all games are done, so the report is
+ * the same on every run for a deterministic strategy.
+ */
+public class WordleSolverBenchmark {
+
+    /** Games still unsolved after this many guesses are abandoned. */
+    public static final int MAX_GUESSES = 20;
+
+    /** Outcome of one game that was abandoned or where the strategy gave up. */
+    private static final int UNSOLVED = MAX_GUESSES + 1;
+
+    private final int[] guessCounts;
+    private final long elapsedNanos;
+
+    private WordleSolverBenchmark(int[] guessCounts, long elapsedNanos) {
+        this.guessCounts = guessCounts;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Plays one game for each secret.
+     * @param strategy The strategy to measure.
+     * @param secrets Secret words, one game each.
+     * @return The results.
+     */
+    public static WordleSolverBenchmark run(WordleStrategy strategy, String[] secrets) {
+        int[] guessCounts = new int[secrets.length];
+        long start = System.nanoTime();
+        IntStream.range(0, secrets.length).parallel().forEach(i ->
+            guessCounts[i] = play(strategy, secrets[i]));
+        return new WordleSolverBenchmark(guessCounts, System.nanoTime() - start);
+    }
+
+    /**
+     * Wraps results gathered elsewhere, such as merged from several
+     * processes by WordleShardCoordinator.
+     * @param guessCounts Outcome of each game as play returns it.
+     * @param elapsedNanos Wall clock time the games took.
+     * @return The results.
+     */
+    public static WordleSolverBenchmark of(int[] guessCounts, long elapsedNanos) {
+        return new WordleSolverBenchmark(guessCounts.clone(), elapsedNanos);
+    }
+
+    /**
+     * Plays a single game.
+     * @param strategy The strategy to play with.
+     * @param secret The secret word.
+     * @return Guesses needed to win, or MAX_GUESSES + 1 if the game was not won.
+     */
+    public static int play(WordleStrategy strategy, String secret) {
+        List<WordleTurn> history = new ArrayList<>();
+        try {
+            while (history.size() < MAX_GUESSES) {
+                String guess = strategy.nextGuess(history);
+                WordleTurn turn = new WordleTurn(guess, Wordle.getGuessPattern(secret, guess));
+                history.add(turn);
+                if (turn.isWinning()) {
+                    return history.size();
+                }
+            }
+        } catch (IllegalStateException e) {
+            // The strategy ran out of ideas, count it as a loss
+        }
+        return UNSOLVED;
+    }
+
+    /**
+     * How many games were played?
+     * @return Number of games.
+     */
+    public int games() {
+        return guessCounts.length;
+    }
+
+    /**
+     * Guesses used in one game.
+     * @param game Index of the secret passed to run.
+     * @return Guesses needed, or MAX_GUESSES + 1 if the game was not won.
+     */
+    public int guesses(int game) {
+        return guessCounts[game];
+    }
+
+    /**
+     * How many games took exactly this many guesses?
+     * @return Array where element n counts the games won in n guesses.
+     */
+    public int[] distribution() {
+        int[] counts = new int[MAX_GUESSES + 1];
+        for (int guesses : guessCounts) {
+            if (guesses <= MAX_GUESSES) {
+                counts[guesses]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Games that were not won within Wordle.NUMBER_OF_GUESSES.
+     * @return Number of failed games.
+     */
+    public int failures() {
+        int failures = 0;
+        for (int guesses : guessCounts) {
+            if (guesses > Wordle.NUMBER_OF_GUESSES) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Average guesses over the games that were won at all.
+     * @return Average number of guesses.
+     */
+    public double averageGuesses() {
+        long total = 0;
+        int won = 0;
+        for (int guesses : guessCounts) {
+            if (guesses <= MAX_GUESSES) {
+                total += guesses;
+                won++;
+            }
+        }
+        return won == 0 ? 0 : (double) total / won;
+    }
+
+    /**
+     * Most guesses any game needed.
+     * @return Worst case, MAX_GUESSES + 1 if some game was not won.
+     */
+    public int worstCase() {
+        int worst = 0;
+        for (int guesses : guessCounts) {
+            worst = Math.max(worst, guesses);
+        }
+        return worst;
+    }
+
+    /**
+     * Throughput of the run.
+     * @return Games played per second of wall clock time.
+     */
+    public double gamesPerSecond() {
+        return guessCounts.length / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Multi-line summary of the run.
+     * @return The report.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("games: %d%n", games()));
+        int[] distribution = distribution();
+        for (int n = 1; n < distribution.length; n++) {
+            if (distribution[n] > 0) {
+                report.append(String.format("  %2d guesses: %d%n", n, distribution[n]));
+            }
+        }
+        int unsolved = games() - IntStream.of(distribution).sum();
+        if (unsolved > 0) {
+            report.append(String.format("  unsolved: %d%n", unsolved));
+        }
+        report.append(String.format("average guesses: %.4f%n", averageGuesses()));
+        report.append(String.format("worst case: %d%n", worstCase()));
+        report.append(String.format("failures (> %d guesses): %d%n",
+                                    Wordle.NUMBER_OF_GUESSES, failures()));
+        report.append(String.format("throughput: %.1f games/s on %d cores%n",
+                                    gamesPerSecond(), Runtime.getRuntime().availableProcessors()));
+        return report.toString();
+    }
+
+    /**
+     * Benchmarks WordleSolver over every five letter word.
+     * @param args Optional feedback matrix file (see WordleFeedbackMatrix),
+     *       created if it does not exist.
+     * @throws IOException If the matrix file can't be used.
+     */
+    public static void main(String[] args) throws IOException {
+        String[] words = WordleWordList.fiveLetterWords();
+        WordleFeedbackMatrix matrix = args.length > 0
+            ? WordleFeedbackMatrix.loadOrCompute(Paths.get(args[0]), words)
+            : null;
+        WordlePartitionCache cache = new WordlePartitionCache(WordlePartitionCache.DEFAULT_MAX_BYTES);
+        WordleSolver solver = new WordleSolver(words, matrix, false, cache);
+        // Work out the opening guess first so it isn't charged to one game
+        solver.nextGuess(new ArrayList<>());
+        System.out.print(run(solver, words).report());
+        System.out.println(cache.report());
+    }
+}
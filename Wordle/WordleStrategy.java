@@ -0,0 +1,16 @@
+import java.util.List;
+
+/**
+ * Something that can play Wordle: given the turns so far, it picks the
+ * next word to guess. Implementations should be safe to call from many
+ * threads at once, one game per call.
+ */
+public interface WordleStrategy {
+
+    /**
+     * Chooses the next guess for a game in progress.
+     * @param history Turns played so far, oldest first.
+     * @return The word to guess next.
+     */
+    String nextGuess(List<WordleTurn> history);
+}
@@ -1,4 +1,23 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
 
 /**
  * Class to test the World methods separately.
@@ -70,6 +89,30 @@ public class WordleTester {
         }
     }
 
+    private static void testSeededRandomWord() {
+        String[] dictionary = WordleDictionary.FIVE_LETTER_WORDS;
+        // The same seed gives the same words
+        SplittableRandom first = new SplittableRandom(152);
+        SplittableRandom second = new SplittableRandom(152);
+        for (int i = 0; i < 100; i++) {
+            countTest(Wordle.getRandomWord(dictionary, first)
+                      .equals(Wordle.getRandomWord(dictionary, second)));
+        }
+
+        LocalDate day = LocalDate.of(2024, 3, 14);
+        String word = Wordle.getWordOfTheDay(dictionary, day, 42);
+        countTest(Arrays.asList(dictionary).contains(word));
+        countTest(word.equals(Wordle.getWordOfTheDay(dictionary, day, 42)));
+        // Different days should not all give the same word
+        int same = 0;
+        for (int d = 1; d <= 30; d++) {
+            if (word.equals(Wordle.getWordOfTheDay(dictionary, day.plusDays(d), 42))) {
+                same++;
+            }
+        }
+        countTest(same < 3);
+    }
+
     private static void testIsValidWord() {
         String[] dictionary = { "foo", "bar", "baz", "qux" };
         testValidWords(dictionary, true, dictionary);
@@ -98,6 +141,52 @@ public class WordleTester {
         }
     }
 
+    private static void testIndexedIsValidWord() {
+        String[] dictionary = { "foo", "bar", "baz", "qux", "foo" };
+        WordleIndex index = new WordleIndex(dictionary);
+        countTest(index.size() == 4);
+        countTest(index.indexOf("foo") == 0);
+        countTest(index.indexOf("qux") == 3);
+        countTest(index.indexOf("boo") == -1);
+        countTest(!Wordle.isValidWord(index, "FOO"));
+        countTest(!Wordle.isValidWord(index, ""));
+
+        WordleIndex fives = WordleIndex.fiveLetterIndex();
+        for (String word : WordleWordList.fiveLetterWords()) {
+            countTest(Wordle.isValidWord(fives, word));
+        }
+        for (String word : new String[] {"qwert", "abcde", "asdfg", "12345", "abacab"}) {
+            countTest(!Wordle.isValidWord(fives, word));
+        }
+
+        WordleIndex twos = new WordleIndex(WordleDictionary.TWO_LETTER_WORDS);
+        for (String word : WordleDictionary.TWO_LETTER_WORDS) {
+            countTest(Wordle.isValidWord(twos, word));
+        }
+        for (String word : new String[] {"ab", "ek", "zz", "12", "hx", "oz"}) {
+            countTest(!Wordle.isValidWord(twos, word));
+        }
+    }
+
+    private static void testPackedWords() {
+        int[] codes = WordlePacked.fiveLetterCodes();
+        String[] words = WordleWordList.fiveLetterWords();
+        countTest(codes.length == words.length);
+        for (int i = 0; i < codes.length; i++) {
+            String word = words[i];
+            countTest(WordlePacked.decode(codes[i]).equals(word));
+            countTest(WordlePacked.length(codes[i]) == 5);
+            countTest(WordlePacked.charAt(codes[i], 4) == word.charAt(4));
+            countTest(Wordle.isValidWord(WordleIndex.fiveLetterIndex(), codes[i]));
+        }
+        countTest(WordlePacked.encode("abc") == (1 | 2 << 5 | 3 << 10));
+        countTest(WordlePacked.encode("Hello") == 0);
+        countTest(WordlePacked.encode("toolong") == 0);
+        countTest(WordlePacked.encode("") == 0);
+        countTest(WordlePacked.decode(WordlePacked.encodeLong("abracadabras")).equals("abracadabras"));
+        countTest(!Wordle.isValidWord(WordleIndex.fiveLetterIndex(), WordlePacked.encode("qwert")));
+    }
+
     private static void testGetGuessResult() {
         countTest(Arrays.equals("oo.X.".toCharArray(), Wordle.getGuessResult("glass", "sassy")));
         countTest(Arrays.equals("...XX".toCharArray(), Wordle.getGuessResult("those", "geese")));
@@ -113,6 +202,902 @@ public class WordleTester {
         countTest(Arrays.equals("..".toCharArray(), Wordle.getGuessResult("ah", "ox")));
     }
 
+    private static void testGetGuessPattern() {
+        String[][] pairs = {
+            {"glass", "sassy"}, {"those", "geese"}, {"dread", "added"},
+            {"trade", "rated"}, {"potato", "banana"}, {"car", "arm"},
+            {"evil", "live"}, {"evil", "doom"}, {"ah", "aa"}, {"ah", "ha"},
+            {"ah", "ox"}, {"abbey", "babes"}, {"zowie", "zowie"}
+        };
+        for (String[] pair : pairs) {
+            char[] expected = Wordle.getGuessResult(pair[0], pair[1]);
+            int pattern = Wordle.getGuessPattern(pair[0], pair[1]);
+            countTest(Arrays.equals(expected, WordlePattern.toChars(pattern, expected.length)));
+            countTest(WordlePattern.fromChars(expected) == pattern);
+            countTest(Wordle.isWinningPattern(pattern, expected.length)
+                      == Wordle.isWinningResult(expected));
+            countTest(WordlePattern.of(WordlePacked.encodeLong(pair[0]),
+                                       WordlePacked.encodeLong(pair[1])) == pattern);
+        }
+        countTest(Wordle.getGuessPattern("glass", "glass") == WordlePattern.FIVE_LETTER_WIN);
+        countTest(Wordle.getGuessPattern("glass", "moony") == 0);
+
+        // A slice of the real dictionary, every pair checked both ways
+        String[] words = WordleWordList.fiveLetterWords();
+        int[] codes = WordlePacked.fiveLetterCodes();
+        for (int i = 0; i < words.length; i += 97) {
+            for (int j = 0; j < words.length; j += 89) {
+                char[] expected = Wordle.getGuessResult(words[i], words[j]);
+                int pattern = WordlePattern.of(codes[i], codes[j]);
+                countTest(Arrays.equals(expected, WordlePattern.toChars(pattern, 5)));
+                countTest(Wordle.getGuessPattern(words[i], words[j]) == pattern);
+            }
+        }
+    }
+
+    private static void testBatchPattern() {
+        // Small words, repeated letters and a batch written at an offset
+        String[][] cases = {
+            {"glass", "sassy", "glass", "moony", "lasso", "salsa"},
+            {"abbey", "babes", "kebab", "abbey", "ebbed", "bobby"},
+            {"evil", "live", "doom", "vile", "ieee"},
+            {"ah", "aa", "ha", "ox", "ah"}
+        };
+        for (String[] words : cases) {
+            String guess = words[0];
+            int[] secrets = WordlePacked.encodeAll(Arrays.copyOfRange(words, 1, words.length));
+            byte[] out = new byte[secrets.length + 3];
+            WordlePattern.ofAll(WordlePacked.encode(guess), secrets, out, 3);
+            for (int i = 0; i < secrets.length; i++) {
+                char[] expected = Wordle.getGuessResult(words[i + 1], guess);
+                countTest(Arrays.equals(expected,
+                                        WordlePattern.toChars(out[i + 3] & 0xFF, guess.length())));
+            }
+        }
+
+        // Every secret in the dictionary against a spread of guesses
+        String[] words = WordleWordList.fiveLetterWords();
+        int[] codes = WordlePacked.fiveLetterCodes();
+        byte[] row = new byte[codes.length];
+        for (int g = 0; g < codes.length; g += 61) {
+            WordlePattern.ofAll(codes[g], codes, row);
+            boolean same = true;
+            for (int s = 0; s < codes.length && same; s++) {
+                same = (row[s] & 0xFF) == WordlePattern.of(codes[s], codes[g]);
+            }
+            countTest(same);
+        }
+        for (int g = 0; g < words.length; g += 587) {
+            WordlePattern.ofAll(codes[g], codes, row);
+            for (int s = 0; s < words.length; s += 13) {
+                countTest(Arrays.equals(Wordle.getGuessResult(words[s], words[g]),
+                                        WordlePattern.toChars(row[s] & 0xFF, 5)));
+            }
+        }
+    }
+
+    private static void testDifferentialChecker() {
+        int[] left = new int[26];
+        String[][] pairs = {
+            {"glass", "sassy"}, {"those", "geese"}, {"dread", "added"}, {"abbey", "babes"}
+        };
+        for (String[] pair : pairs) {
+            countTest(Arrays.equals(Wordle.getGuessResult(pair[0], pair[1]),
+                                    WordleDifferentialChecker.reference(pair[0], pair[1], left)));
+        }
+
+        String[] words = Arrays.copyOf(WordleDictionary.FIVE_LETTER_WORDS, 200);
+        WordleDifferentialChecker result = WordleDifferentialChecker.check(words, 3);
+        countTest(result.getPairs() == 200 * 200);
+        countTest(result.isClean());
+        countTest(result.getMismatches().length == WordleDifferentialChecker.CHECKED.length);
+        countTest(result.report().contains("pairs checked: 40000"));
+
+        String[] small = WordleDictionary.TWO_LETTER_WORDS;
+        countTest(WordleDifferentialChecker.check(small, 2).isClean());
+    }
+
+    private static void testPlayBatch() {
+        String games = "# scripted games\n"
+            + "glass sassy glass\n"
+            + "\n"
+            + "  THOSE geese qwert those  extra\n"
+            + "zzzzz glass\n"
+            + "glass moony moony moony moony moony moony glass\n";
+        StringWriter out = new StringWriter();
+        try {
+            long played = Wordle.playBatch(new StringReader(games), out,
+                                           WordleIndex.fiveLetterIndex());
+            countTest(played == 3);
+        } catch (IOException e) {
+            countTest(false);
+            return;
+        }
+        String[] lines = out.toString().split("\n");
+        countTest(lines.length == 4);
+        countTest(lines[0].equals("glass sassy " + new String(Wordle.getGuessResult("glass", "sassy"))
+                                  + " glass XXXXX WON 2"));
+        countTest(lines[1].equals("those geese " + new String(Wordle.getGuessResult("those", "geese"))
+                                  + " qwert INVALID those XXXXX WON 2"));
+        countTest(lines[2].equals("ERROR unknown secret zzzzz"));
+        countTest(lines[3].startsWith("glass moony ....."));
+        countTest(lines[3].endsWith(" LOST"));
+        countTest(!lines[3].contains(" glass "));
+    }
+
+    private static void testShardCoordinator() {
+        String[] words = WordleWordList.fiveLetterWords();
+        String opener = words[100];
+        WordleSolver solver = new WordleSolver(words);
+        WordleStrategy withOpener = history -> history.isEmpty() ? opener : solver.nextGuess(history);
+        WordleSolverBenchmark expected = WordleSolverBenchmark.run(withOpener,
+                                                                   Arrays.copyOf(words, 24));
+        List<String> openers = Arrays.asList(opener);
+        try {
+            Path journal = Files.createTempFile("wordle", ".journal");
+            Files.delete(journal);
+            try {
+                // Every worker quits after one shard, as if it had crashed
+                WordleShardCoordinator crashing = new WordleShardCoordinator(
+                    WordleShardCoordinator.defaultWorkerCommand("--exit-after", "1"), 2);
+                WordleSolverBenchmark result = crashing.run(openers, 24, 6, journal).get(opener);
+                countTest(result.games() == 24);
+                boolean same = true;
+                for (int i = 0; i < 24; i++) {
+                    same &= result.guesses(i) == expected.guesses(i);
+                }
+                countTest(same);
+                countTest(Files.readAllLines(journal).size() == 5);
+
+                // Everything is in the journal, so no worker is needed at all
+                WordleShardCoordinator resumed = new WordleShardCoordinator(
+                    Arrays.asList("no-such-command"), 1);
+                result = resumed.run(openers, 24, 6, journal).get(opener);
+                countTest(result.averageGuesses() == expected.averageGuesses());
+
+                // A shard that always fails to start gives up the run
+                try {
+                    resumed.run(openers, 30, 6, journal);
+                    countTest(false);
+                } catch (IOException e) {
+                    countTest(e.getMessage().contains("crashed"));
+                }
+
+                // A last line cut short by a crash is redone, and the line
+                // that replaces it isn't glued onto it
+                byte[] bytes = Files.readAllBytes(journal);
+                Files.write(journal, Arrays.copyOf(bytes, bytes.length - 10));
+                WordleShardCoordinator working = new WordleShardCoordinator(
+                    WordleShardCoordinator.defaultWorkerCommand(), 1);
+                result = working.run(openers, 24, 6, journal).get(opener);
+                countTest(result.averageGuesses() == expected.averageGuesses());
+                result = resumed.run(openers, 24, 6, journal).get(opener);
+                countTest(result.averageGuesses() == expected.averageGuesses());
+
+                // A garbled reply fails the run instead of giving zeros
+                String ready = "READY " + words.length + " "
+                    + WordlePacked.checksum(WordlePacked.fiveLetterCodes());
+                WordleShardCoordinator garbled = new WordleShardCoordinator(Arrays.asList(
+                    "sh", "-c", "echo " + ready + "; echo DONE x; cat > /dev/null"), 2);
+                try {
+                    garbled.run(openers, 12, 6, null);
+                    countTest(false);
+                } catch (IOException e) {
+                    countTest(e.getMessage().contains("Bad reply"));
+                }
+            } finally {
+                Files.deleteIfExists(journal);
+            }
+        } catch (IOException e) {
+            countTest(false);
+        }
+    }
+
+    private static void testMetrics() {
+        WordleMetrics.Histogram histogram = new WordleMetrics.Histogram();
+        countTest(histogram.count() == 0 && histogram.percentile(50) == 0);
+        for (long v = 1; v <= 1000; v++) {
+            histogram.record(v * 1000);
+        }
+        histogram.record(-5);
+        countTest(histogram.count() == 1001);
+        countTest(histogram.max() == 1_000_000);
+        countTest(Math.abs(histogram.mean() - 500_500_000.0 / 1001) < 1e-6);
+        // Buckets are about 3% wide, so percentiles are within that
+        countTest(Math.abs(histogram.percentile(50) - 500_000) <= 500_000 / 32);
+        countTest(Math.abs(histogram.percentile(99) - 990_000) <= 990_000 / 32);
+        countTest(histogram.percentile(100) == 1_000_000);
+        countTest(histogram.percentile(0) == 0);
+        histogram.reset();
+        countTest(histogram.count() == 0 && histogram.max() == 0);
+
+        // Small values are exact and big ones land in a bucket holding them
+        histogram.record(7);
+        countTest(histogram.percentile(100) == 7);
+        long value = 123_456_789L;
+        histogram.reset();
+        histogram.record(value);
+        histogram.record(value + 1);
+        countTest(histogram.percentile(50) >= value
+                  && histogram.percentile(50) - value < value / WordleMetrics.Histogram.SUB_BUCKETS);
+
+        String snapshot = WordleMetrics.snapshot();
+        for (WordleMetrics.Stage stage : WordleMetrics.Stage.values()) {
+            countTest(snapshot.contains(stage.name().toLowerCase()));
+        }
+        if (!WordleMetrics.ENABLED) {
+            // Switched off, recording does nothing
+            WordleMetrics.count(WordleMetrics.Counter.GAMES);
+            WordleMetrics.record(WordleMetrics.Stage.SCORE, WordleMetrics.start());
+            countTest(WordleMetrics.get(WordleMetrics.Counter.GAMES) == 0);
+            countTest(WordleMetrics.histogram(WordleMetrics.Stage.SCORE).count() == 0);
+        }
+    }
+
+    private static void testFeedbackMatrix() {
+        String[] dictionary = Arrays.copyOf(WordleDictionary.FIVE_LETTER_WORDS, 300);
+        WordleFeedbackMatrix matrix = WordleFeedbackMatrix.compute(dictionary);
+        checkFeedbackMatrix(dictionary, matrix);
+        try {
+            Path file = Files.createTempFile("wordle", ".bin");
+            try {
+                matrix.save(file);
+                checkFeedbackMatrix(dictionary, WordleFeedbackMatrix.load(file, dictionary));
+                // A matrix saved for one dictionary must not load for another
+                String[] other = Arrays.copyOfRange(WordleDictionary.FIVE_LETTER_WORDS, 1, 301);
+                try {
+                    WordleFeedbackMatrix.load(file, other);
+                    countTest(false);
+                } catch (IOException e) {
+                    countTest(true);
+                }
+            } finally {
+                Files.delete(file);
+            }
+
+            // A save that fails leaves no temporary file behind
+            Path dir = Files.createTempDirectory("wordle");
+            Path blocked = Files.createDirectory(dir.resolve("matrix.bin"));
+            Path inside = Files.createFile(blocked.resolve("keep"));
+            try {
+                matrix.save(blocked);
+                countTest(false);
+            } catch (IOException e) {
+                try (Stream<Path> left = Files.list(dir)) {
+                    countTest(left.count() == 1);
+                }
+            } finally {
+                Files.delete(inside);
+                Files.delete(blocked);
+                Files.delete(dir);
+            }
+        } catch (IOException e) {
+            countTest(false);
+        }
+
+        try {
+            WordleFeedbackMatrix.compute(new String[] {"crane", "cran"});
+            countTest(false);
+        } catch (IllegalArgumentException e) {
+            countTest(true);
+        }
+    }
+
+    private static void checkFeedbackMatrix(String[] dictionary, WordleFeedbackMatrix matrix) {
+        countTest(matrix.size() == dictionary.length);
+        for (int guess = 0; guess < dictionary.length; guess += 7) {
+            for (int secret = 0; secret < dictionary.length; secret++) {
+                countTest(matrix.get(guess, secret)
+                          == Wordle.getGuessPattern(dictionary[secret], dictionary[guess]));
+            }
+        }
+    }
+
+    private static void testSolver() {
+        String[] dictionary = Arrays.copyOf(WordleDictionary.FIVE_LETTER_WORDS, 400);
+        WordleSolver solver = new WordleSolver(dictionary);
+        WordleSolver matrixSolver = new WordleSolver(dictionary,
+                                                     WordleFeedbackMatrix.compute(dictionary));
+        for (int i = 0; i < dictionary.length; i += 13) {
+            String secret = dictionary[i];
+            List<WordleTurn> history = new ArrayList<>();
+            boolean won = false;
+            while (!won && history.size() < 10) {
+                String guess = solver.nextGuess(history);
+                // Both ways of getting feedback must pick the same guesses
+                countTest(guess.equals(matrixSolver.nextGuess(history)));
+                WordleTurn turn = new WordleTurn(guess, Wordle.getGuessResult(secret, guess));
+                history.add(turn);
+                won = turn.isWinning();
+            }
+            countTest(won);
+            countTest(history.size() <= Wordle.NUMBER_OF_GUESSES);
+            countTest(WordleSolverBenchmark.play(solver, secret) == history.size());
+        }
+
+        // Benchmark runs must be repeatable
+        WordleSolverBenchmark first = WordleSolverBenchmark.run(solver, dictionary);
+        WordleSolverBenchmark second = WordleSolverBenchmark.run(solver, dictionary);
+        countTest(first.games() == dictionary.length);
+        countTest(first.failures() == 0);
+        countTest(Arrays.equals(first.distribution(), second.distribution()));
+        countTest(first.averageGuesses() == second.averageGuesses());
+    }
+
+    private static void testGuessClasses() {
+        String[] words = WordleWordList.fiveLetterWords();
+        int[] codes = WordlePacked.fiveLetterCodes();
+        Random random = new Random(152);
+        for (int trial = 0; trial < 6; trial++) {
+            // A late game candidate set: a few words sharing some letters
+            int[] secrets = new int[2 + trial];
+            boolean[] isCandidate = new boolean[words.length];
+            int letters = 0;
+            for (int i = 0; i < secrets.length; i++) {
+                secrets[i] = random.nextInt(words.length);
+                isCandidate[secrets[i]] = true;
+                letters |= WordleGuessClasses.letterMask(codes[secrets[i]]);
+            }
+            int[] chosen = WordleGuessClasses.representatives(codes, letters, isCandidate, null);
+            countTest(chosen != null && chosen.length < words.length);
+
+            // Every guess splits the secrets like the chosen guess of its group
+            int[] keys = new int[chosen.length];
+            for (int i = 0; i < chosen.length; i++) {
+                keys[i] = WordleGuessClasses.signature(codes[chosen[i]], letters);
+            }
+            boolean same = true;
+            boolean preferred = true;
+            for (int guess = 0; guess < words.length; guess++) {
+                int key = WordleGuessClasses.signature(codes[guess], letters);
+                int group = -1;
+                for (int i = 0; i < keys.length && group < 0; i++) {
+                    group = keys[i] == key ? chosen[i] : -1;
+                }
+                if (group < 0) {
+                    same = false;
+                    continue;
+                }
+                for (int secret : secrets) {
+                    same &= WordlePattern.of(codes[secret], codes[guess])
+                        == WordlePattern.of(codes[secret], codes[group]);
+                }
+                // The chosen guess wins the solver's tie rules within its group
+                preferred &= isCandidate[group] || !isCandidate[guess];
+                preferred &= isCandidate[group] != isCandidate[guess] || group <= guess;
+            }
+            countTest(same);
+            countTest(preferred);
+        }
+
+        // With every letter in play nothing can be grouped
+        boolean[] none = new boolean[words.length];
+        countTest(WordleGuessClasses.representatives(codes, (1 << 26) - 1, none, null) == null);
+    }
+
+    private static void testHardMode() {
+        WordleHardMode rules = new WordleHardMode(5);
+        countTest(rules.allows("moony"));
+        rules.add("sassy", Wordle.getGuessPattern("glass", "sassy"));
+        // sassy against glass: s and a present, third s correct
+        countTest(rules.allows("glass"));
+        countTest(!rules.allows("moony"));
+        countTest("4th letter must be S".equals(rules.violation("moony")));
+        countTest("Guess must contain S 2 times".equals(rules.violation("blast")));
+        countTest(rules.allows("salsa"));
+        countTest(rules.violation("glass") == null);
+
+        // Compare with checking every earlier turn the slow way
+        String[] words = WordleDictionary.FIVE_LETTER_WORDS;
+        Random random = new Random(152);
+        for (int game = 0; game < 20; game++) {
+            String secret = words[random.nextInt(words.length)];
+            List<WordleTurn> history = new ArrayList<>();
+            rules = new WordleHardMode(5);
+            for (int turn = 0; turn < 3; turn++) {
+                String guess = words[random.nextInt(words.length)];
+                WordleTurn played = new WordleTurn(guess, Wordle.getGuessPattern(secret, guess));
+                history.add(played);
+                rules.add(played);
+                boolean same = true;
+                for (String word : words) {
+                    boolean expected = true;
+                    for (WordleTurn t : history) {
+                        char[] result = t.getGuessResult();
+                        int[] revealed = new int[26];
+                        for (int i = 0; i < 5; i++) {
+                            if (result[i] == Wordle.CORRECT && word.charAt(i) != t.getGuess().charAt(i)) {
+                                expected = false;
+                            }
+                            if (result[i] != Wordle.MISSING) {
+                                revealed[t.getGuess().charAt(i) - 'a']++;
+                            }
+                        }
+                        for (int i = 0; i < 5; i++) {
+                            revealed[word.charAt(i) - 'a']--;
+                        }
+                        for (int count : revealed) {
+                            expected &= count <= 0;
+                        }
+                    }
+                    same &= rules.allows(word) == expected;
+                    same &= (rules.violation(word) == null) == expected;
+                }
+                countTest(same);
+                countTest(rules.allows(secret));
+            }
+        }
+
+        // A hard mode session refuses guesses that ignore a hint
+        WordleSession session = new WordleSession("glass", WordleIndex.fiveLetterIndex(), 6, true);
+        countTest(session.guess("sassy") == WordleSession.Outcome.SCORED);
+        countTest(session.guess("moony") == WordleSession.Outcome.HARD_MODE);
+        countTest(session.getGuessesLeft() == 5);
+        countTest(session.guess("glass") == WordleSession.Outcome.WON);
+
+        // A hard mode solver only plays allowed words and still wins
+        String[] dictionary = Arrays.copyOf(words, 400);
+        WordleSolver solver = new WordleSolver(dictionary, null, true);
+        countTest(solver.isHardMode());
+        for (int i = 0; i < dictionary.length; i += 37) {
+            List<WordleTurn> history = new ArrayList<>();
+            WordleHardMode check = new WordleHardMode(5);
+            boolean allowed = true;
+            boolean won = false;
+            while (!won && history.size() < 10) {
+                String guess = solver.nextGuess(history);
+                allowed &= check.allows(guess);
+                WordleTurn turn = new WordleTurn(guess, Wordle.getGuessPattern(dictionary[i], guess));
+                history.add(turn);
+                check.add(turn);
+                won = turn.isWinning();
+            }
+            countTest(allowed);
+            countTest(won);
+        }
+    }
+
+    private static void testPartitionCache() {
+        // Room for exactly two entries of a one word bitset
+        WordlePartitionCache cache = new WordlePartitionCache(2 * (128 + 8));
+        long[] a = {1};
+        long[] b = {2};
+        long[] c = {3};
+        WordlePartitionCache.Partition p = new WordlePartitionCache.Partition(7, 1.5, 3, 2);
+        countTest(cache.get(a) == null);
+        cache.put(a, p);
+        cache.put(b, p);
+        countTest(cache.get(a) == p);
+        cache.put(c, p);
+        // b was used least recently, so it made room for c
+        countTest(cache.get(b) == null);
+        countTest(cache.get(a) == p && cache.get(c) == p);
+        countTest(cache.size() == 2 && cache.getEvictions() == 1);
+        countTest(cache.getHits() == 3 && cache.getMisses() == 2);
+        countTest(cache.getBytes() <= 2 * (128 + 8));
+        a[0] = 99; // the stored key is a copy
+        countTest(cache.get(new long[] {1}) == p);
+
+        // A caching solver picks the same guesses and reuses its answers
+        String[] dictionary = Arrays.copyOf(WordleDictionary.FIVE_LETTER_WORDS, 400);
+        WordleSolver plain = new WordleSolver(dictionary);
+        cache = new WordlePartitionCache(WordlePartitionCache.DEFAULT_MAX_BYTES);
+        WordleSolver cached = new WordleSolver(dictionary, null, false, cache);
+        boolean same = true;
+        for (int i = 0; i < dictionary.length; i += 7) {
+            same &= WordleSolverBenchmark.play(plain, dictionary[i])
+                == WordleSolverBenchmark.play(cached, dictionary[i]);
+        }
+        countTest(same);
+        countTest(cache.getHits() > 0 && cache.size() > 0);
+        countTest(cache.report().startsWith("partition cache: " + cache.getHits() + " hits"));
+
+        int[] candidates = new int[50];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = i * 3;
+        }
+        p = plain.partition(candidates);
+        countTest(p.getGuess() == plain.bestGuess(candidates));
+        countTest(p.getEntropy() == plain.entropy(p.getGuess(), candidates));
+        countTest(p.getBuckets() > 1 && p.getLargestBucket() < candidates.length);
+    }
+
+    private static void testConstraintIndex() {
+        String[] words = WordleWordList.fiveLetterWords();
+        WordleConstraintIndex index = WordleConstraintIndex.fiveLetterIndex();
+        countTest(WordleConstraintIndex.count(index.all()) == words.length);
+        Random random = new Random(152);
+        for (int game = 0; game < 40; game++) {
+            String secret = words[random.nextInt(words.length)];
+            long[] candidates = index.all();
+            List<String> guesses = new ArrayList<>();
+            for (int turn = 0; turn < 3; turn++) {
+                String guess = words[random.nextInt(words.length)];
+                guesses.add(guess);
+                index.apply(candidates, guess, Wordle.getGuessPattern(secret, guess));
+
+                // Compare with checking every word the slow way
+                int[] remaining = WordleConstraintIndex.toPositions(candidates);
+                int expected = 0;
+                for (int w = 0; w < words.length; w++) {
+                    boolean fits = true;
+                    for (String g : guesses) {
+                        fits &= Arrays.equals(Wordle.getGuessResult(words[w], g),
+                                              Wordle.getGuessResult(secret, g));
+                    }
+                    if (fits) {
+                        countTest(expected < remaining.length && remaining[expected] == w);
+                        expected++;
+                    }
+                }
+                countTest(expected == remaining.length);
+            }
+        }
+        countTest(WordleConstraintIndex.next(new long[2], 0) == -1);
+        countTest(WordleConstraintIndex.next(new long[] {0, 1L << 5}, 3) == 69);
+    }
+
+    private static void testSession() {
+        WordleIndex index = WordleIndex.fiveLetterIndex();
+        WordleSession session = new WordleSession("glass", index, 3);
+        countTest(session.guess("qwert") == WordleSession.Outcome.INVALID);
+        countTest(session.getGuessesLeft() == 3);
+        countTest(session.guess("sassy") == WordleSession.Outcome.SCORED);
+        countTest(new String(session.getHistory().get(0).getGuessResult()).equals("oo.X."));
+        countTest(session.guess("glass") == WordleSession.Outcome.WON);
+        countTest(session.isOver());
+        countTest(session.guess("glass") == WordleSession.Outcome.OVER);
+
+        session = new WordleSession("glass", index, 2);
+        countTest(session.guess("sassy") == WordleSession.Outcome.SCORED);
+        countTest(session.guess("those") == WordleSession.Outcome.LOST);
+        countTest(session.isOver() && session.getGuessesLeft() == 0);
+        countTest(session.getHistory().size() == 2);
+    }
+
+    private static void testServer() {
+        try {
+            WordleServer server = new WordleServer(0);
+            try {
+                Thread acceptor = new Thread(server::serve);
+                acceptor.setDaemon(true);
+                acceptor.start();
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                     BufferedReader in = new BufferedReader(new InputStreamReader(
+                         socket.getInputStream(), StandardCharsets.US_ASCII));
+                     Writer out = new OutputStreamWriter(socket.getOutputStream(),
+                                                         StandardCharsets.US_ASCII)) {
+                    out.write("GUESS crane\nNEW\nGUESS qwert\nGUESS crane\nQUIT\n");
+                    out.flush();
+                    countTest(in.readLine().startsWith("ERROR "));
+                    countTest(in.readLine().equals("GAME " + Wordle.NUMBER_OF_GUESSES));
+                    countTest(in.readLine().equals("INVALID qwert"));
+                    String[] result = in.readLine().split(" ");
+                    countTest(result.length == 3 && result[0].equals("RESULT")
+                              && result[1].length() == 5
+                              && result[2].equals(String.valueOf(Wordle.NUMBER_OF_GUESSES - 1)));
+                    String line = in.readLine();
+                    if (line.startsWith("WON ")) {
+                        // The secret was crane
+                        line = in.readLine();
+                    }
+                    countTest(line.equals("BYE"));
+                    countTest(in.readLine() == null);
+                }
+
+                // Closing the server hangs up on idle clients straight away
+                try (Socket idle = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                     BufferedReader in = new BufferedReader(new InputStreamReader(
+                         idle.getInputStream(), StandardCharsets.US_ASCII))) {
+                    idle.getOutputStream().write("NEW\n".getBytes(StandardCharsets.US_ASCII));
+                    countTest(in.readLine().startsWith("GAME "));
+                    long start = System.nanoTime();
+                    server.close();
+                    countTest(System.nanoTime() - start < 2_000_000_000L);
+                    try {
+                        countTest(in.readLine() == null);
+                    } catch (IOException e) {
+                        countTest(true); // reset by the server, also fine
+                    }
+                }
+            } finally {
+                server.close();
+            }
+        } catch (IOException e) {
+            countTest(false);
+        }
+    }
+
+    private static void testWordList() {
+        try {
+            Path file = Files.createTempFile("wordle", ".txt");
+            try {
+                Files.write(file, "Crane slate\ncrane, ab1de toolong zz\r\nSLATE".getBytes());
+                WordleWordList list = WordleWordList.load(file, 5);
+                countTest(Arrays.equals(list.getWords(), new String[] {"crane", "slate"}));
+                countTest(list.getRejected() == 3);
+                countTest(list.getDuplicates() == 2);
+
+                WordleWordList.main(new String[] {file.toString()});
+                list = WordleWordList.load(file, 5);
+                countTest(Arrays.equals(list.getWords(), WordleDictionary.FIVE_LETTER_WORDS));
+                countTest(list.getDuplicates() == 0 && list.getRejected() == 0);
+                countTest(WordleWordList.load(file, 2).getWords().length == 0);
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            countTest(false);
+        }
+        // Without the wordle.words property the built-in list is used
+        if (System.getProperty(WordleWordList.WORDS_PROPERTY) == null) {
+            countTest(WordleWordList.fiveLetterWords() == WordleDictionary.FIVE_LETTER_WORDS);
+        }
+    }
+
+    private static void testLexicon() {
+        WordleLexicon lexicon = new WordleLexicon(
+            new String[] {"car", "arm", "evil", "live", "potato", "banana", "car"},
+            new String[] {"abracadabras", "x", "toolongforwordle", "Upper"});
+        countTest(Arrays.equals(lexicon.getWords(3), new String[] {"car", "arm"}));
+        countTest(lexicon.getWords(12).length == 1);
+        countTest(lexicon.getWords(1).length == 0);
+        countTest(lexicon.getWords(16).length == 0);
+        countTest(lexicon.getCodes(1).length == 0 && lexicon.getCodes(16).length == 0);
+        countTest(lexicon.getIndex(1).size() == 0 && !lexicon.getIndex(16).contains("x"));
+        countTest(lexicon.isValidWord("live"));
+        countTest(lexicon.isValidWord("abracadabras"));
+        countTest(!lexicon.isValidWord("x"));
+        countTest(!lexicon.isValidWord("upper"));
+        countTest(!lexicon.isValidWord("vile"));
+        countTest(lexicon.getWords(6)[0].equals("potato"));
+        countTest(lexicon.getCodes(6)[1] == WordlePacked.encodeLong("banana"));
+        for (int i = 0; i < 100; i++) {
+            countTest(lexicon.getRandomWord(4).length() == 4);
+        }
+
+        String[][] pairs = {
+            {"potato", "banana"}, {"car", "arm"}, {"evil", "live"}, {"ah", "ha"},
+            {"abracadabras", "barbarically"}, {"mississippis", "pississimmis"}
+        };
+        for (String[] pair : pairs) {
+            countTest(Arrays.equals(lexicon.getGuessResult(pair[0], pair[1]),
+                                    Wordle.getGuessResult(pair[0], pair[1])));
+        }
+
+        WordleLexicon standard = WordleLexicon.standard();
+        countTest(standard.getWords(2).length == WordleDictionary.TWO_LETTER_WORDS.length);
+        String[] fives = WordleWordList.fiveLetterWords();
+        countTest(standard.getWords(5).length == fives.length);
+        countTest(standard.isValidWord("qi") && standard.isValidWord(fives[fives.length - 1]));
+        countTest(!standard.isValidWord("zz") && !standard.isValidWord("qwert"));
+    }
+
+    private static void testDawg() {
+        WordleDawg dawg = WordleDawg.standard();
+        String[] fives = WordleWordList.fiveLetterWords();
+        String[] twos = WordleDictionary.TWO_LETTER_WORDS;
+        countTest(dawg.size() == fives.length + twos.length);
+        countTest(dawg.nodeCount() < 5 * fives.length);
+        for (String word : fives) {
+            countTest(dawg.contains(word));
+        }
+        for (String word : twos) {
+            countTest(dawg.contains(word));
+        }
+        for (String word : new String[] {"qwert", "zz", "aahe", "", "aahedx"}) {
+            countTest(!dawg.contains(word));
+        }
+
+        for (String prefix : new String[] {"st", "q", "zym", "a", "xyz", ""}) {
+            List<String> expected = new ArrayList<>();
+            for (String word : fives) {
+                if (word.startsWith(prefix)) {
+                    expected.add(word);
+                }
+            }
+            for (String word : twos) {
+                if (word.startsWith(prefix)) {
+                    expected.add(word);
+                }
+            }
+            expected.sort(null);
+            List<String> found = new ArrayList<>();
+            dawg.withPrefix(prefix, found);
+            countTest(found.equals(expected));
+        }
+
+        int[] excluded = { 0, WordleDawg.letterMask("aeiou"), 0, 0, WordleDawg.letterMask("s") };
+        for (String pattern : new String[] {"a?o?t", "?????", "s??re", "??"}) {
+            List<String> expected = new ArrayList<>();
+            for (String word : pattern.length() == 2 ? twos : fives) {
+                boolean fits = true;
+                for (int i = 0; i < pattern.length(); i++) {
+                    char c = pattern.charAt(i);
+                    fits &= c == '?'
+                        ? pattern.length() == 2 || (excluded[i] & (1 << (word.charAt(i) - 'a'))) == 0
+                        : c == word.charAt(i);
+                }
+                if (fits) {
+                    expected.add(word);
+                }
+            }
+            expected.sort(null);
+            List<String> found = new ArrayList<>();
+            dawg.matching(pattern, pattern.length() == 2 ? null : excluded, found);
+            countTest(found.equals(expected));
+        }
+        try {
+            dawg.matching("??????", excluded, new ArrayList<>());
+            countTest(false);
+        } catch (IllegalArgumentException e) {
+            countTest(true);
+        }
+    }
+
+    private static void testDecisionTree() {
+        String[] dictionary = Arrays.copyOf(WordleDictionary.FIVE_LETTER_WORDS, 400);
+        WordleSolver solver = new WordleSolver(dictionary);
+        try {
+            Path file = Files.createTempFile("wordle", ".bin");
+            try {
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    WordleDecisionTree.build(solver, out);
+                }
+                WordleDecisionTree tree = WordleDecisionTree.open(file, dictionary);
+                countTest(dictionary[tree.guess(tree.root())].equals(
+                              solver.nextGuess(new ArrayList<>())));
+                // Following the tree must play exactly like the solver
+                for (String secret : dictionary) {
+                    countTest(WordleSolverBenchmark.play(tree, secret)
+                              == WordleSolverBenchmark.play(solver, secret));
+                }
+                countTest(tree.child(tree.root(), WordlePattern.FIVE_LETTER_WIN) == -1);
+                try {
+                    WordleDecisionTree.open(file, Arrays.copyOf(dictionary, 399));
+                    countTest(false);
+                } catch (IOException e) {
+                    countTest(true);
+                }
+
+                // Shorter words have a different winning pattern
+                String[] fourLetters = {"evil", "live", "vile", "veil", "levi", "doom", "mood", "moot"};
+                WordleSolver fourSolver = new WordleSolver(fourLetters);
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    WordleDecisionTree.build(fourSolver, out);
+                }
+                tree = WordleDecisionTree.open(file, fourLetters);
+                for (String secret : fourLetters) {
+                    int guesses = WordleSolverBenchmark.play(tree, secret);
+                    countTest(guesses <= WordleSolverBenchmark.MAX_GUESSES
+                              && guesses == WordleSolverBenchmark.play(fourSolver, secret));
+                }
+                countTest(tree.child(tree.root(), WordlePattern.winning(4)) == -1);
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            countTest(false);
+        }
+    }
+
+    private static void testLogAnalyzer() {
+        StringBuilder log = new StringBuilder("# secret then guesses\n\n");
+        for (int i = 0; i < 5000; i++) {
+            log.append("glass crane sassy glass\n");   // won in 3
+            log.append("those crane those\n");         // won in 2
+        }
+        log.append("dread crane added those sassy glass moony zowie\n"); // never won
+        log.append("qwert crane\n");                   // unknown secret
+        log.append("dread\n");                         // no guesses
+        log.append("dread cranes\n");                  // wrong length
+        try {
+            WordleLogAnalyzer analyzer = WordleLogAnalyzer.analyze(
+                new StringReader(log.toString()), WordleDictionary.FIVE_LETTER_WORDS, 3);
+            countTest(analyzer.getGames() == 10001);
+            countTest(analyzer.getWins() == 10000);
+            countTest(analyzer.getMalformed() == 3);
+            countTest(analyzer.getAverageDepth() == 2.5);
+            countTest(analyzer.getFirstGuessCount("crane") == 10001);
+            countTest(analyzer.getFirstGuessCount("sassy") == 0);
+            countTest(analyzer.getDifficulty("glass") == 3.0);
+            countTest(analyzer.getDifficulty("dread") == Wordle.NUMBER_OF_GUESSES + 1);
+            countTest(analyzer.report().contains("crane 10001"));
+        } catch (IOException e) {
+            countTest(false);
+        }
+    }
+
+    private static void testAdversary() {
+        WordleAdversary game = WordleAdversary.fiveLetterGame();
+        countTest(game.remaining() == WordleWordList.fiveLetterWords().length);
+        countTest(game.isValidWord("crane") && !game.isValidWord("qwert"));
+        String[] before = game.getCandidates();
+        String guess = "crane";
+        while (!game.isWon() && game.getGuesses() < 30) {
+            int pattern = game.guess(guess);
+            String[] after = game.getCandidates();
+            // Every kept word gives the chosen feedback, and no other
+            // feedback would have kept more words
+            int[] sizes = new int[WordlePattern.FIVE_LETTER_PATTERNS];
+            for (String word : before) {
+                sizes[Wordle.getGuessPattern(word, guess)]++;
+            }
+            for (String word : after) {
+                countTest(Wordle.getGuessPattern(word, guess) == pattern);
+            }
+            countTest(sizes[pattern] == after.length);
+            for (int p = 0; p < WordlePattern.FIVE_LETTER_WIN; p++) {
+                countTest(sizes[p] <= after.length);
+            }
+            before = after;
+            guess = after[0];
+        }
+        countTest(game.isWon());
+        countTest(game.remaining() == 1);
+        try {
+            game.guess("crane");
+            countTest(false);
+        } catch (IllegalStateException e) {
+            countTest(game.isWon());
+        }
+
+        for (String[] bad : new String[][] {{}, {"crane", "cranes"}, {"toolong"}}) {
+            try {
+                new WordleAdversary(bad);
+                countTest(false);
+            } catch (IllegalArgumentException e) {
+                countTest(true);
+            }
+        }
+    }
+
+    private static void testMultiBoard() {
+        String[] secrets = {"glass", "those", "dread", "trade"};
+        WordleMultiBoard game = new WordleMultiBoard(secrets, WordleIndex.fiveLetterIndex(), 9);
+        int[] patterns = game.guess("those");
+        for (int b = 0; b < secrets.length; b++) {
+            countTest(patterns[b] == Wordle.getGuessPattern(secrets[b], "those"));
+        }
+        countTest(game.isSolved(1) && !game.isSolved(0) && !game.isWon());
+        patterns = game.guess("glass");
+        countTest(patterns[1] == WordleMultiBoard.SOLVED);
+        countTest(game.getHistory(1).size() == 1 && game.getHistory(0).size() == 2);
+        countTest(game.getGuessesLeft() == 7);
+
+        // Six letter patterns don't fit the batch scorer's bytes
+        String[] sixLetters = {"planet", "plates", "staple", "petals"};
+        game = new WordleMultiBoard(sixLetters, new WordleIndex(sixLetters), 6);
+        patterns = game.guess("staple");
+        for (int b = 0; b < sixLetters.length; b++) {
+            countTest(patterns[b] == Wordle.getGuessPattern(sixLetters[b], "staple"));
+        }
+        countTest(game.isSolved(2) && !game.isSolved(3));
+        try {
+            new WordleMultiBoard(new String[] {"glass", "planet"}, WordleIndex.fiveLetterIndex(), 6);
+            countTest(false);
+        } catch (IllegalArgumentException e) {
+            countTest(true);
+        }
+
+        // The solver should win a few seeded quordles within the allowance
+        String[] dictionary = Arrays.copyOf(WordleDictionary.FIVE_LETTER_WORDS, 400);
+        WordleMultiSolver solver = new WordleMultiSolver(new WordleSolver(dictionary));
+        SplittableRandom random = new SplittableRandom(152);
+        WordleIndex index = new WordleIndex(dictionary);
+        for (int g = 0; g < 5; g++) {
+            String[] quordle = new String[4];
+            for (int b = 0; b < quordle.length; b++) {
+                quordle[b] = Wordle.getRandomWord(dictionary, random);
+            }
+            game = new WordleMultiBoard(quordle, index, 9);
+            while (!game.isOver()) {
+                game.guess(solver.nextGuess(game));
+            }
+            countTest(game.isWon());
+        }
+    }
+
     private static void testIsWinningResult() {
         countTest(!Wordle.isWinningResult(".....".toCharArray()));
         countTest(!Wordle.isWinningResult(".........".toCharArray()));
@@ -133,14 +1118,110 @@ public class WordleTester {
         testGetRandomWord();
         printResults("getRandomWord");
 
+        clearCounts();
+        testSeededRandomWord();
+        printResults("getRandomWord (seeded)");
+
         clearCounts();
         testIsValidWord();
         printResults("isValidWord");
 
+        clearCounts();
+        testIndexedIsValidWord();
+        printResults("isValidWord (indexed)");
+
+        clearCounts();
+        testPackedWords();
+        printResults("WordlePacked");
+
         clearCounts();
         testGetGuessResult();
         printResults("getGuessResult");
 
+        clearCounts();
+        testGetGuessPattern();
+        printResults("getGuessPattern");
+
+        clearCounts();
+        testBatchPattern();
+        printResults("WordlePattern.ofAll");
+
+        clearCounts();
+        testDifferentialChecker();
+        printResults("WordleDifferentialChecker");
+
+        clearCounts();
+        testPlayBatch();
+        printResults("playBatch");
+
+        clearCounts();
+        testMetrics();
+        printResults("WordleMetrics");
+
+        clearCounts();
+        testShardCoordinator();
+        printResults("WordleShardCoordinator");
+
+        clearCounts();
+        testFeedbackMatrix();
+        printResults("WordleFeedbackMatrix");
+
+        clearCounts();
+        testSolver();
+        printResults("WordleSolver");
+
+        clearCounts();
+        testGuessClasses();
+        printResults("WordleGuessClasses");
+
+        clearCounts();
+        testHardMode();
+        printResults("WordleHardMode");
+
+        clearCounts();
+        testPartitionCache();
+        printResults("WordlePartitionCache");
+
+        clearCounts();
+        testConstraintIndex();
+        printResults("WordleConstraintIndex");
+
+        clearCounts();
+        testSession();
+        printResults("WordleSession");
+
+        clearCounts();
+        testServer();
+        printResults("WordleServer");
+
+        clearCounts();
+        testWordList();
+        printResults("WordleWordList");
+
+        clearCounts();
+        testLexicon();
+        printResults("WordleLexicon");
+
+        clearCounts();
+        testDawg();
+        printResults("WordleDawg");
+
+        clearCounts();
+        testDecisionTree();
+        printResults("WordleDecisionTree");
+
+        clearCounts();
+        testLogAnalyzer();
+        printResults("WordleLogAnalyzer");
+
+        clearCounts();
+        testAdversary();
+        printResults("WordleAdversary");
+
+        clearCounts();
+        testMultiBoard();
+        printResults("WordleMultiBoard");
+
         clearCounts();
         testIsWinningResult();
         printResults("isWinningResult");
@@ -0,0 +1,65 @@
+/**
+ * One turn of a Wordle game: the word that was guessed and the feedback
+ * it got.
+ */
+public class WordleTurn {
+    private final String guess;
+    private final int pattern;
+
+    /**
+     * Creates a turn from a WordlePattern code.
+     * @param guess The guessed word
+     * @param pattern Feedback as a pattern code
+     */
+    public WordleTurn(String guess, int pattern) {
+        this.guess = guess;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Creates a turn from feedback in the form returned by
+     * Wordle.getGuessResult.
+     * @param guess The guessed word
+     * @param guessResult Feedback chars
+     */
+    public WordleTurn(String guess, char[] guessResult) {
+        this(guess, WordlePattern.fromChars(guessResult));
+    }
+
+    /**
+     * Get the guessed word
+     * @return The guess
+     */
+    public String getGuess() {
+        return guess;
+    }
+
+    /**
+     * Get the feedback as a pattern code
+     * @return The WordlePattern code
+     */
+    public int getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Get the feedback in char form
+     * @return Array of Wordle.CORRECT, Wordle.PRESENT and Wordle.MISSING
+     */
+    public char[] getGuessResult() {
+        return WordlePattern.toChars(pattern, guess.length());
+    }
+
+    /**
+     * Did this turn win the game?
+     * @return True if every letter was CORRECT
+     */
+    public boolean isWinning() {
+        return WordlePattern.isWinning(pattern, guess.length());
+    }
+
+    @Override
+    public String toString() {
+        return guess + " " + new String(getGuessResult());
+    }
+}
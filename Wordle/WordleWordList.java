@@ -0,0 +1,216 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads Wordle word lists from files.
+ *
+ * A word list is plain text with words separated by whitespace or commas.
+ * The file is memory-mapped and scanned once: each word is packed (see
+ * WordlePacked) as its bytes go by, checked, and dropped if it was
+ * already seen, and a String is only made for words that are kept.
+ *
+ * The shared five letter list comes from the file named by the
+ * wordle.words system property when it is set and readable, and from
+ * WordleDictionary.FIVE_LETTER_WORDS otherwise. It is loaded the first
+ * time something asks for it, and WordleIndex, WordlePacked and
+ * WordleConstraintIndex build their shared tables from it.
+ */
+public class WordleWordList {
+
+    /** System property naming the five letter word list file. */
+    public static final String WORDS_PROPERTY = "wordle.words";
+
+    private final String[] words;
+    private final int rejected;
+    private final int duplicates;
+
+    private WordleWordList(String[] words, int rejected, int duplicates) {
+        this.words = words;
+        this.rejected = rejected;
+        this.duplicates = duplicates;
+    }
+
+    /**
+     * Reads a word list, keeping words of one length. Uppercase letters are
+     * folded to lowercase; words with other characters are rejected.
+     * @param file The word list file.
+     * @param length Length of the words to keep, 1 to 12.
+     * @return The words read, in file order without repeats.
+     * @throws IOException If the file can't be read.
+     */
+    public static WordleWordList load(Path file, int length) throws IOException {
+        if (length < 1 || length > WordlePacked.MAX_LONG_LENGTH) {
+            throw new IllegalArgumentException("Unsupported word length: " + length);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large for a word list");
+            }
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(bytes, (int) channel.size(), length);
+        }
+    }
+
+    /** Scans the mapped file, packing, checking and deduplicating as it goes. */
+    private static WordleWordList parse(MappedByteBuffer bytes, int size, int length) {
+        PackedSet seen = new PackedSet();
+        String[] words = new String[64];
+        int count = 0;
+        int rejected = 0;
+        int duplicates = 0;
+
+        long key = 0;
+        int letters = 0;
+        boolean bad = false;
+        for (int i = 0; i <= size; i++) {
+            int b = i < size ? bytes.get(i) : ' ';
+            if (b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',') {
+                if (letters > 0) {
+                    if (bad || letters != length) {
+                        rejected++;
+                    } else if (!seen.add(key)) {
+                        duplicates++;
+                    } else {
+                        if (count == words.length) {
+                            words = Arrays.copyOf(words, count * 2);
+                        }
+                        words[count++] = WordlePacked.decode(key);
+                    }
+                }
+                key = 0;
+                letters = 0;
+                bad = false;
+            } else {
+                if (b >= 'A' && b <= 'Z') {
+                    b += 'a' - 'A';
+                }
+                if (b < 'a' || b > 'z' || letters >= WordlePacked.MAX_LONG_LENGTH) {
+                    bad = true;
+                } else {
+                    key |= (long) (b - 'a' + 1) << (WordlePacked.LETTER_BITS * letters);
+                }
+                letters++;
+            }
+        }
+        return new WordleWordList(Arrays.copyOf(words, count), rejected, duplicates);
+    }
+
+    /**
+     * Get the words that were kept
+     * @return The words, in file order
+     */
+    public String[] getWords() {
+        return words;
+    }
+
+    /**
+     * Get the number of entries skipped for bad characters or wrong length
+     * @return Rejected entry count
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Get the number of entries skipped because they were already seen
+     * @return Duplicate entry count
+     */
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * The shared five letter word list, loaded on first use. Comes from
+     * the wordle.words file if that is set and readable, otherwise from
+     * WordleDictionary.FIVE_LETTER_WORDS. The array is shared, so don't
+     * modify it.
+     * @return Five letter words.
+     */
+    public static String[] fiveLetterWords() {
+        return FiveLetterHolder.WORDS;
+    }
+
+    /** Loads the five letter list the first time it is asked for. */
+    private static class FiveLetterHolder {
+        static final String[] WORDS = loadFiveLetterWords();
+
+        private static String[] loadFiveLetterWords() {
+            String file = System.getProperty(WORDS_PROPERTY);
+            if (file != null) {
+                try {
+                    String[] words = load(Paths.get(file), 5).getWords();
+                    if (words.length > 0) {
+                        return words;
+                    }
+                    System.err.println(file + " has no five letter words, using built-in list");
+                } catch (IOException e) {
+                    System.err.println("Can't read " + file + ", using built-in list: "
+                                       + e.getMessage());
+                }
+            }
+            return WordleDictionary.FIVE_LETTER_WORDS;
+        }
+    }
+
+    /** Grow-only open-addressing set of packed words. */
+    private static class PackedSet {
+        private long[] keys = new long[1024];
+        private int size;
+
+        /** Adds key, returning false if it was already there. Key must not be 0. */
+        boolean add(long key) {
+            int slot = find(keys, key);
+            if (keys[slot] == key) {
+                return false;
+            }
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                long[] old = keys;
+                keys = new long[old.length * 2];
+                for (long k : old) {
+                    if (k != 0) {
+                        keys[find(keys, k)] = k;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static int find(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int slot = (int) (key * 0x9E3779B97F4A7C15L >>> 40) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Writes the built-in five letter words to a file, one per line, as a
+     * starting point for a custom list.
+     * @param args The file to write.
+     * @throws IOException If the file can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: java WordleWordList output-file");
+            return;
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(args[0]),
+                                                          StandardCharsets.US_ASCII)) {
+            for (String word : WordleDictionary.FIVE_LETTER_WORDS) {
+                out.write(word);
+                out.newLine();
+            }
+        }
+    }
+}